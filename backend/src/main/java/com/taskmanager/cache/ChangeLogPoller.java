@@ -0,0 +1,189 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.service.ChangeLogService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seguimiento del registro de cambios por número de secuencia
+ * Cada nodo lee change_log en lotes y publica los cambios de otros nodos
+ * para que las cachés locales se invaliden, sin necesidad de un broker.
+ *
+ * Las secuencias IDENTITY pueden confirmarse fuera de orden: ante un hueco
+ * el poller no avanza hasta que se rellena o pasa gap-timeout. Los IDs
+ * saltados se siguen consultando durante gap-recheck, por si la transacción
+ * que los ocupaba era solo lenta y no se revirtió.
+ *
+ * Con una sola instancia no hay cachés ajenas que invalidar: el poller solo
+ * se crea con app.change-log.poll-enabled=true (perfil cluster).
+ *
+ * @author Andre
+ */
+@Component
+@ConditionalOnProperty(name = "app.change-log.poll-enabled", havingValue = "true")
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final int MAX_SKIPPED = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    private final ChangeLogService changeLogService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    private final long gapTimeoutMillis;
+
+    private final long gapRecheckMillis;
+
+    // IDs saltados y el instante en que se saltaron
+    private final TreeMap<Long, Long> skipped = new TreeMap<>();
+
+    private long lastSequence = -1;
+
+    private long gapSince;
+
+    public ChangeLogPoller(ChangeLogRepository changeLogRepository, ChangeLogService changeLogService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.change-log.batch-size:500}") int batchSize,
+                           @Value("${app.change-log.gap-timeout:5s}") Duration gapTimeout,
+                           @Value("${app.change-log.gap-recheck:10m}") Duration gapRecheck) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.gapRecheckMillis = gapRecheck.toMillis();
+    }
+
+    /**
+     * Leer los cambios nuevos y publicar los de otros nodos
+     */
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:1000}")
+    public synchronized void poll() {
+        if (lastSequence < 0) {
+            // Al arrancar no hay cachés que invalidar: se empieza desde el final
+            Long max = changeLogRepository.findMaxId();
+            lastSequence = max != null ? max : 0L;
+            return;
+        }
+
+        List<ChangeLogEntry> batch;
+        do {
+            batch = changeLogRepository.findByIdGreaterThanOrderByIdAsc(lastSequence, PageRequest.of(0, batchSize));
+            List<ChangeLogEntry> accepted = accept(batch, System.currentTimeMillis());
+            publishRemote(accepted);
+            if (accepted.size() < batch.size()) {
+                break;
+            }
+        } while (batch.size() == batchSize);
+        recheckSkipped(System.currentTimeMillis());
+    }
+
+    /**
+     * Aceptar los cambios contiguos del lote y avanzar la secuencia
+     *
+     * @param batch cambios leídos en orden de secuencia
+     * @param now instante actual en milisegundos
+     * @return List<ChangeLogEntry> cambios aceptados (sin huecos pendientes)
+     */
+    List<ChangeLogEntry> accept(List<ChangeLogEntry> batch, long now) {
+        List<ChangeLogEntry> accepted = new ArrayList<>(batch.size());
+        for (ChangeLogEntry entry : batch) {
+            if (entry.getId() != lastSequence + 1) {
+                if (gapSince == 0) {
+                    gapSince = now;
+                }
+                if (now - gapSince < gapTimeoutMillis) {
+                    break;
+                }
+                skip(lastSequence + 1, entry.getId() - 1, now);
+            }
+            gapSince = 0;
+            lastSequence = entry.getId();
+            accepted.add(entry);
+        }
+        return accepted;
+    }
+
+    /**
+     * Publicar los cambios saltados que ya se confirmaron y olvidar los que
+     * superan gap-recheck (la transacción se revirtió)
+     *
+     * @param now instante actual en milisegundos
+     */
+    void recheckSkipped(long now) {
+        skipped.values().removeIf(skippedAt -> now - skippedAt >= gapRecheckMillis);
+        if (skipped.isEmpty()) {
+            return;
+        }
+        List<ChangeLogEntry> late = new ArrayList<>(changeLogRepository.findAllById(skipped.keySet()));
+        if (late.isEmpty()) {
+            return;
+        }
+        late.sort(Comparator.comparing(ChangeLogEntry::getId));
+        late.forEach(entry -> skipped.remove(entry.getId()));
+        log.debug("Registro de cambios: {} cambios confirmados tras su hueco", late.size());
+        publishRemote(late);
+    }
+
+    /**
+     * IDs saltados pendientes de confirmar
+     *
+     * @return Set<Long> IDs en orden
+     */
+    synchronized Set<Long> getSkipped() {
+        return Set.copyOf(skipped.keySet());
+    }
+
+    /**
+     * Último número de secuencia procesado
+     *
+     * @return long secuencia (-1 si aún no se inicializó)
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    synchronized void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    private void skip(long from, long to, long now) {
+        for (long id = from; id <= to; id++) {
+            if (skipped.size() >= MAX_SKIPPED) {
+                log.warn("Registro de cambios: demasiados huecos pendientes, se descartan {}..{}", id, to);
+                return;
+            }
+            skipped.put(id, now);
+        }
+        log.debug("Registro de cambios: hueco {}..{} saltado", from, to);
+    }
+
+    private void publishRemote(List<ChangeLogEntry> accepted) {
+        String nodeId = changeLogService.getNodeId();
+        List<ChangeLogEntry> remote = accepted.stream()
+                .filter(entry -> !nodeId.equals(entry.getNodeId()))
+                .toList();
+        if (!remote.isEmpty()) {
+            eventPublisher.publishEvent(new RemoteChangesEvent(remote));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmanager.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Versión monótona de los datos de cada usuario
+ * Cada mutación de tareas incrementa la versión del usuario afectado tras el
+ * commit; las lecturas por usuario la exponen como ETag débil. El prefijo de
+ * arranque evita que un ETag de una ejecución anterior coincida tras reiniciar.
+ *
+ * @author Andre
+ */
+@Component
+public class DataVersionTracker {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Obtener la versión actual de los datos de un usuario
+     *
+     * @param userId ID del usuario
+     * @return long versión actual
+     */
+    public long currentVersion(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Obtener el ETag débil de los datos de un usuario
+     *
+     * @param userId ID del usuario
+     * @return String ETag débil (W/"...")
+     */
+    public String etag(Long userId) {
+        return "W/\"" + bootId + "." + epoch.get() + "-" + userId + "-" + currentVersion(userId) + "\"";
+    }
+
+    /**
+     * Incrementar la versión de un usuario cuando la transacción actual
+     * confirme (o de inmediato si no hay transacción).
+     * Incrementar antes del commit permitiría que una lectura concurrente
+     * asociara la versión nueva a datos viejos.
+     *
+     * @param userId ID del usuario
+     */
+    public void bumpAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+        } else {
+            bump(userId);
+        }
+    }
+
+    /**
+     * Incrementar la versión de un usuario de inmediato
+     *
+     * @param userId ID del usuario
+     */
+    public void bump(Long userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Invalidar los ETag de todos los usuarios, incluso los aún no vistos
+     */
+    public void bumpAll() {
+        epoch.incrementAndGet();
+    }
+}
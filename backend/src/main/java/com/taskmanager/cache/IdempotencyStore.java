@@ -0,0 +1,233 @@
+package com.taskmanager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacén de respuestas para peticiones con cabecera Idempotency-Key
+ * La primera petición con una clave se ejecuta y su respuesta se guarda
+ * durante el TTL; los reintentos con la misma clave reciben esa respuesta
+ * sin volver a escribir. Los reintentos que llegan mientras la primera sigue
+ * en curso esperan su resultado. Solo se guardan las respuestas 2xx y las
+ * 4xx deterministas (validación): las 5xx y las 4xx que dependen del momento
+ * (408, 409, 425, 429) no se guardan, así que el cliente puede reintentar.
+ *
+ * La clave solo vale para la misma petición: el cuerpo se compara por hash.
+ *
+ * @author Andre
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String METRIC_NAME = "taskmanager.idempotency.requests";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // 408 Request Timeout, 409 Conflict, 425 Too Early, 429 Too Many Requests
+    private static final Set<Integer> TRANSIENT_CLIENT_ERRORS = Set.of(408, 409, 425, 429);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration ttl;
+
+    private final int maxEntries;
+
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.ttl:1h}") Duration ttl,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.waitTimeout = waitTimeout;
+        meterRegistry.gauge("taskmanager.idempotency.entries", entries, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Ejecutar una petición de creación respetando su Idempotency-Key
+     *
+     * @param scope ruta a la que pertenece la clave (etiqueta de las métricas)
+     * @param key valor de la cabecera Idempotency-Key (null = sin idempotencia)
+     * @param request cuerpo de la petición, para detectar claves reutilizadas
+     * @param action ejecución real de la petición
+     * @return ResponseEntity<?> respuesta original o repetida
+     * @throws IllegalArgumentException si la clave no es válida o se usó con otro cuerpo
+     * @throws IllegalStateException si la petición original no termina a tiempo
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String entryKey = scope + ":" + key;
+        byte[] fingerprint = fingerprint(request);
+        Entry leader = new Entry(fingerprint);
+        Entry existing = entries.putIfAbsent(entryKey, leader);
+        while (existing != null && existing.isExpired(System.currentTimeMillis())) {
+            entries.remove(entryKey, existing);
+            existing = entries.putIfAbsent(entryKey, leader);
+        }
+
+        if (existing != null) {
+            if (!Arrays.equals(existing.fingerprint, fingerprint)) {
+                counter(scope, "mismatch").increment();
+                throw new IllegalArgumentException("La " + HEADER + " ya se usó con otra petición");
+            }
+            counter(scope, existing.response.isDone() ? "replayed" : "waited").increment();
+            return replay(await(existing));
+        }
+
+        counter(scope, "executed").increment();
+        evictIfFull();
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(entryKey, leader);
+            leader.response.completeExceptionally(e);
+            throw e;
+        }
+        if (!isReplayable(response.getStatusCode())) {
+            entries.remove(entryKey, leader);
+        } else {
+            leader.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        }
+        leader.response.complete(response);
+        return response;
+    }
+
+    /**
+     * Eliminar periódicamente las respuestas vencidas
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Cantidad de claves guardadas (incluidas las que están en curso)
+     *
+     * @return int claves guardadas
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private ResponseEntity<?> await(Entry entry) {
+        try {
+            return entry.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("La petición original con esta " + HEADER + " sigue en curso");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera de la petición original interrumpida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("La petición original falló", e.getCause());
+        }
+    }
+
+    // Un reintento podría tener otro resultado: no se repite la respuesta
+    private static boolean isReplayable(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) {
+            return true;
+        }
+        return status.is4xxClientError() && !TRANSIENT_CLIENT_ERRORS.contains(status.value());
+    }
+
+    private ResponseEntity<?> replay(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    // Si se alcanza el máximo se descartan las vencidas y luego las más antiguas
+    // ya terminadas; las que están en curso nunca se descartan
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        purgeExpired();
+        int excess = entries.size() - maxEntries;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .filter(entry -> entry.getValue().response.isDone())
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la petición", e);
+        }
+    }
+
+    private Counter counter(String scope, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Peticiones con Idempotency-Key por ruta y resultado")
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Respuesta (o ejecución en curso) asociada a una clave
+     */
+    private static class Entry {
+        private final byte[] fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import java.util.Objects;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidación de cachés locales ante cambios de otros nodos
+ *
+ * @author Andre
+ */
+@Component
+public class RemoteChangeInvalidator {
+
+    private final ResponseCache responseCache;
+
+    private final DataVersionTracker dataVersionTracker;
+
+    public RemoteChangeInvalidator(ResponseCache responseCache, DataVersionTracker dataVersionTracker) {
+        this.responseCache = responseCache;
+        this.dataVersionTracker = dataVersionTracker;
+    }
+
+    /**
+     * Invalidar en lote lo afectado por los cambios remotos
+     *
+     * @param event lote de cambios de otros nodos
+     */
+    @EventListener
+    public void onRemoteChanges(RemoteChangesEvent event) {
+        // Las respuestas cacheadas son agregados globales: cualquier cambio las afecta
+        responseCache.evictAll();
+        event.getChanges().stream()
+                .map(ChangeLogEntry::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(dataVersionTracker::bump);
+    }
+}
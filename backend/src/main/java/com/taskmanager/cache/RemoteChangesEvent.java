@@ -0,0 +1,22 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import java.util.List;
+
+/**
+ * Evento con un lote de cambios confirmados por otros nodos
+ *
+ * @author Andre
+ */
+public class RemoteChangesEvent {
+
+    private final List<ChangeLogEntry> changes;
+
+    public RemoteChangesEvent(List<ChangeLogEntry> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public List<ChangeLogEntry> getChanges() {
+        return changes;
+    }
+}
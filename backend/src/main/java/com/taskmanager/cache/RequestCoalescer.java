@@ -0,0 +1,95 @@
+package com.taskmanager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalescencia de lecturas concurrentes idénticas (single-flight)
+ * La primera llamada para una clave ejecuta la consulta; las llamadas que
+ * llegan mientras está en curso esperan y comparten el mismo resultado.
+ * No guarda nada una vez terminada la consulta: no es una caché.
+ *
+ * @author Andre
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final String METRIC_NAME = "taskmanager.coalescing.calls";
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("taskmanager.coalescing.in-flight", inFlight, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Ejecutar una lectura compartiendo el resultado con llamadas idénticas en curso
+     *
+     * @param operation nombre de la operación (etiqueta de las métricas)
+     * @param argument argumento que distingue la clave (puede ser null)
+     * @param loader consulta a ejecutar si no hay otra en curso
+     * @return T resultado de la consulta
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object argument, Supplier<T> loader) {
+        String key = argument != null ? operation + ":" + argument : operation;
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+
+        if (existing != null) {
+            counter(operation, "coalesced").increment();
+            return (T) await(existing);
+        }
+
+        counter(operation, "executed").increment();
+        try {
+            T result = loader.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Cantidad de claves con una consulta en curso
+     *
+     * @return int claves en curso
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Llamadas a lecturas coalescidas por operación y resultado")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
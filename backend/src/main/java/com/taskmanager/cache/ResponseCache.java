@@ -0,0 +1,279 @@
+package com.taskmanager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.BinaryFormats;
+import com.taskmanager.config.RouteClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché de respuestas HTTP en memoria con stale-while-revalidate
+ * Guarda el resultado de la consulta por ruta y parámetros y, junto a él, los
+ * bytes ya serializados de cada formato negociado con el Accept (JSON, CBOR o
+ * Smile), así que un acierto no vuelve a serializar. Una entrada vencida se
+ * sirve de inmediato mientras un único refresco corre en segundo plano;
+ * pasada la ventana stale se recalcula en la petición (coalescida). Al
+ * llegar al máximo se descartan las vencidas y después las más antiguas. Las
+ * respuestas llevan el Cache-Control equivalente para navegador y CDN.
+ *
+ * @author Andre
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final String METRIC_NAME = "taskmanager.response-cache.requests";
+
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    private final ResponseCacheProperties properties;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+
+    public ResponseCache(ResponseCacheProperties properties, RequestCoalescer requestCoalescer,
+                         MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                         Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.properties = properties;
+        this.requestCoalescer = requestCoalescer;
+        this.meterRegistry = meterRegistry;
+        // Los mismos mappers que los conversores HTTP (ver WebConfig)
+        this.mappers.put(Format.JSON, objectMapper);
+        this.mappers.put(Format.CBOR, BinaryFormats.cborMapper(objectMapperBuilder));
+        this.mappers.put(Format.SMILE, BinaryFormats.smileMapper(objectMapperBuilder));
+        this.refreshExecutor = new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64), new CustomizableThreadFactory("response-cache-refresh-"));
+        meterRegistry.gauge("taskmanager.response-cache.entries", entries, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Servir una respuesta desde la caché o calcularla
+     *
+     * @param route clave lógica de la ruta (define la política)
+     * @param parameters parámetros que distinguen la entrada (puede ser null)
+     * @param accept cabecera Accept de la petición (puede ser null)
+     * @param loader consulta que produce el cuerpo de la respuesta
+     * @return ResponseEntity<Object> respuesta con el resultado (Vary: Accept)
+     */
+    public ResponseEntity<Object> serve(String route, Object parameters, String accept, Supplier<?> loader) {
+        ResponseCacheProperties.RoutePolicy policy = properties.getRoutes().get(route);
+        if (!properties.isEnabled() || policy == null) {
+            return ResponseEntity.ok().body(loader.get());
+        }
+        Format format = Format.negotiate(accept);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        String key = parameters != null ? route + "?" + parameters : route;
+        long now = System.currentTimeMillis();
+        CachedResponse cached = entries.get(key);
+
+        if (cached != null && now < cached.freshUntil) {
+            counter(route, "hit").increment();
+            return toResponse(cached, format, policy, "HIT");
+        }
+        if (cached != null && now < cached.staleUntil) {
+            counter(route, "stale").increment();
+            scheduleRefresh(key, cached, policy, loader);
+            return toResponse(cached, format, policy, "STALE");
+        }
+
+        counter(route, "miss").increment();
+        CachedResponse loaded = requestCoalescer.execute("responseCache", key, () -> load(key, policy, loader));
+        return toResponse(loaded, format, policy, "MISS");
+    }
+
+    /**
+     * Invalidar todas las entradas de una ruta
+     *
+     * @param route clave lógica de la ruta
+     */
+    public void evictRoute(String route) {
+        entries.keySet().removeIf(key -> key.equals(route) || key.startsWith(route + "?"));
+    }
+
+    /**
+     * Invalidar toda la caché
+     */
+    public void evictAll() {
+        entries.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CachedResponse load(String key, ResponseCacheProperties.RoutePolicy policy, Supplier<?> loader) {
+        Object body = loader.get();
+        long now = System.currentTimeMillis();
+        CachedResponse response = new CachedResponse(body, System.nanoTime(),
+                now + policy.getTtl().toMillis(),
+                now + policy.getTtl().toMillis() + policy.getStaleWhileRevalidate().toMillis());
+        if (!entries.containsKey(key)) {
+            evictIfFull(now);
+        }
+        entries.put(key, response);
+        return response;
+    }
+
+    // Primero las entradas vencidas (fuera de la ventana stale) y, si no
+    // basta, las cargadas hace más tiempo hasta dejar sitio para una nueva
+    private void evictIfFull(long now) {
+        if (entries.size() < properties.getMaxEntries()) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.staleUntil <= now);
+        int excess = entries.size() - properties.getMaxEntries() + 1;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private void scheduleRefresh(String key, CachedResponse cached, ResponseCacheProperties.RoutePolicy policy,
+                                 Supplier<?> loader) {
+        if (!cached.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // El refresco usa el pool de conexiones de la petición que lo lanza
+            refreshExecutor.execute(RouteClass.propagate(() -> {
+                try {
+                    load(key, policy, loader);
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo refrescar la entrada de caché {}: {}", key, e.getMessage());
+                } finally {
+                    cached.refreshing.set(false);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            cached.refreshing.set(false);
+        }
+    }
+
+    private ResponseEntity<Object> toResponse(CachedResponse cached, Format format,
+                                              ResponseCacheProperties.RoutePolicy policy, String outcome) {
+        CacheControl cacheControl = CacheControl.maxAge(policy.getTtl())
+                .staleWhileRevalidate(policy.getStaleWhileRevalidate())
+                .cachePublic();
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .header("X-Cache", outcome)
+                .contentType(format.mediaType)
+                .body(cached.encoded.computeIfAbsent(format, f -> serialize(f, cached.body)));
+    }
+
+    private byte[] serialize(Format format, Object body) {
+        try {
+            return mappers.get(format).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta cacheada como " + format, e);
+        }
+    }
+
+    private Counter counter(String route, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Peticiones a la caché de respuestas por ruta y resultado")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Formatos de respuesta que la caché guarda serializados
+     */
+    private enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR),
+        SMILE(new MediaType("application", "x-jackson-smile"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        // Igual que los conversores: JSON por defecto y, a igual calidad,
+        // el primer tipo del Accept. null si no se acepta ningún formato
+        static Format negotiate(String accept) {
+            if (accept == null || accept.isBlank()) {
+                return JSON;
+            }
+            List<MediaType> accepted;
+            try {
+                accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            } catch (InvalidMediaTypeException e) {
+                return JSON;
+            }
+            accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                for (Format format : values()) {
+                    if (type.includes(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Resultado cacheado, sus bytes por formato y sus instantes de vencimiento
+     */
+    private static final class CachedResponse {
+        private final Object body;
+        private final Map<Format, byte[]> encoded = new ConcurrentHashMap<>();
+        private final long loadedAt; // nanoTime: ordena cargas del mismo milisegundo
+        private final long freshUntil;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private CachedResponse(Object body, long loadedAt, long freshUntil, long staleUntil) {
+            this.body = body;
+            this.loadedAt = loadedAt;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la caché de respuestas HTTP
+ * Cada ruta cacheada tiene su propio TTL y ventana stale-while-revalidate
+ *
+ * @author Andre
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Habilitar la caché de respuestas
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cantidad máxima de entradas en memoria
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * Política por ruta (clave lógica de la ruta)
+     */
+    private Map<String, RoutePolicy> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Map<String, RoutePolicy> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RoutePolicy> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Política de caché de una ruta
+     */
+    public static class RoutePolicy {
+
+        /**
+         * Tiempo durante el cual la respuesta es fresca
+         */
+        private Duration ttl = Duration.ofSeconds(5);
+
+        /**
+         * Tiempo adicional durante el cual se sirve la respuesta vencida
+         * mientras se refresca en segundo plano
+         */
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * GET condicional para las lecturas de tareas por usuario
+ * Responde 304 con If-None-Match antes de ejecutar cualquier consulta,
+ * comparando contra la versión en memoria de los datos del usuario.
+ * La misma URL se sirve como JSON, CBOR o Smile según el Accept: el ETag
+ * incluye el Accept y la respuesta lleva Vary: Accept, así que un 304 nunca
+ * valida la copia de otro formato.
+ *
+ * @author Andre
+ */
+@Component
+public class UserDataVersionInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID_VARIABLE = "userId";
+
+    private final DataVersionTracker dataVersionTracker;
+
+    public UserDataVersionInterceptor(DataVersionTracker dataVersionTracker) {
+        this.dataVersionTracker = dataVersionTracker;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        Long userId = resolveUserId(request);
+        if (userId == null) {
+            return true;
+        }
+
+        // La versión se lee antes de la consulta: si cambia durante la lectura,
+        // el cliente recibe un ETag viejo y simplemente vuelve a descargar
+        String etag = representationEtag(dataVersionTracker.etag(userId), request.getHeader(HttpHeaders.ACCEPT));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    // W/"...-<hash del Accept>": dos Accept distintos que negocian el mismo
+    // formato solo pierden el 304, nunca reciben otro formato
+    static String representationEtag(String etag, String accept) {
+        if (accept == null || accept.isBlank()) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(accept.trim().hashCode()) + "\"";
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long resolveUserId(HttpServletRequest request) {
+        Object attribute = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(attribute instanceof Map<?, ?>)) {
+            return null;
+        }
+        String value = ((Map<String, String>) attribute).get(USER_ID_VARIABLE);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia adaptativo (algoritmo de gradiente)
+ * Compara la latencia de cada petición con una media a largo plazo: si la
+ * latencia sube (la base de datos se satura) el límite baja en proporción,
+ * y mientras se mantiene estable crece en √límite. Una respuesta 503 de la
+ * propia aplicación reduce el límite un 10% (decremento multiplicativo).
+ *
+ * @author Andre
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Muestras que promedia la latencia a largo plazo
+    private static final int LONG_WINDOW = 600;
+
+    // Latencia tolerada sobre la media antes de reducir el límite
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private volatile double limit;
+
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia no válidos: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Reservar un hueco para una petición
+     *
+     * @return boolean false si ya hay tantas peticiones en curso como el límite
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Liberar el hueco de una petición terminada y ajustar el límite con su latencia
+     *
+     * @param rttNanos duración de la petición
+     */
+    public void onSuccess(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+            } else {
+                longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            }
+            // Tras un pico la media larga queda alta: se acerca a la actual
+            // para que el límite no siga creciendo sobre una referencia vieja
+            if (longRttNanos > 2.0 * rttNanos) {
+                longRttNanos *= 0.95;
+            }
+            // Con poco tráfico la latencia no dice nada sobre el límite
+            if (concurrency < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / Math.max(rttNanos, 1)));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            update(limit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+        }
+    }
+
+    /**
+     * Liberar el hueco de una petición que la aplicación rechazó por sobrecarga
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            update(limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Liberar el hueco sin usar la petición como muestra (errores)
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
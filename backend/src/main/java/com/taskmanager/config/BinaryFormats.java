@@ -0,0 +1,101 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binarios de respuesta (CBOR y Smile)
+ * Usan la misma configuración de Jackson que JSON, pero las fechas
+ * LocalDateTime se escriben como epoch millis (zona del servidor) en vez de
+ * texto ISO, que es lo que más cuesta serializar en los listados grandes.
+ *
+ * @author Andre
+ */
+public final class BinaryFormats {
+
+    private BinaryFormats() {}
+
+    /**
+     * Crear el ObjectMapper CBOR
+     *
+     * @param builder builder con la configuración de Jackson de la aplicación
+     * @return ObjectMapper mapper CBOR con fechas en epoch millis
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new CBORFactory()).build()
+                .registerModule(epochMillisModule());
+    }
+
+    /**
+     * Crear el ObjectMapper Smile
+     *
+     * @param builder builder con la configuración de Jackson de la aplicación
+     * @return ObjectMapper mapper Smile con fechas en epoch millis
+     */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new SmileFactory()).build()
+                .registerModule(epochMillisModule());
+    }
+
+    /**
+     * Crear el conversor CBOR
+     */
+    public static AbstractJackson2HttpMessageConverter cborConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    /**
+     * Crear el conversor Smile
+     */
+    public static AbstractJackson2HttpMessageConverter smileConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    private static SimpleModule epochMillisModule() {
+        SimpleModule module = new SimpleModule("epoch-millis");
+        module.addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        module.addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+        return module;
+    }
+
+    /**
+     * LocalDateTime -> epoch millis
+     */
+    static class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Epoch millis (o texto ISO) -> LocalDateTime
+     */
+    static class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+            }
+            return LocalDateTime.parse(parser.getValueAsString());
+        }
+    }
+}
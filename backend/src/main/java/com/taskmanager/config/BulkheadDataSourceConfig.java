@@ -0,0 +1,73 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Pools de conexiones separados por clase de ruta (bulkheads)
+ * Ambos pools apuntan a spring.datasource.url; el DataSource principal elige
+ * uno u otro según la clase de la petición en curso (RouteClass). Así un
+ * informe pesado espera por una conexión del pool de análisis y no deja sin
+ * conexiones a las operaciones CRUD.
+ *
+ * Al definir aquí el DataSource, Spring Boot no crea el suyo. El ejecutor
+ * asíncrono de Spring MVC (exportaciones) recibe la clase de la petición con
+ * un TaskDecorator.
+ *
+ * @author Andre
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource crudDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("crud");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.bulkhead.analytics.hikari")
+    public HikariDataSource analyticsDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("analytics");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource crudDataSource, HikariDataSource analyticsDataSource) {
+        RouteClassDataSource dataSource = new RouteClassDataSource();
+        dataSource.setTargetDataSources(Map.of(RouteClass.CRUD, crudDataSource,
+                RouteClass.ANALYTICS, analyticsDataSource));
+        dataSource.setDefaultTargetDataSource(crudDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public TaskDecorator routeClassTaskDecorator() {
+        return RouteClass::propagate;
+    }
+
+    /**
+     * DataSource que delega en el pool de la clase de ruta actual
+     */
+    private static class RouteClassDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return RouteClass.current();
+        }
+    }
+}
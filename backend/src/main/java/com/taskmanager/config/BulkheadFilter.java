@@ -0,0 +1,142 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Bulkheads por clase de ruta (CRUD y análisis)
+ * Cada clase tiene un cupo propio de peticiones concurrentes: un informe
+ * pesado solo puede ocupar los huecos de análisis y nunca los hilos que
+ * atienden las ediciones de tareas. La clase queda asociada al hilo durante
+ * la petición para que el DataSource use el pool de conexiones de esa clase.
+ * Los preflight CORS (OPTIONS) no ocupan cupo y el 503 lleva las cabeceras
+ * CORS para que el frontend pueda leerlo.
+ *
+ * @author Andre
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_PREFIX = "taskmanager.bulkhead";
+
+    private final Map<RouteClass, Semaphore> permits = new EnumMap<>(RouteClass.class);
+
+    private final Map<RouteClass, BulkheadProperties.Partition> partitions = new EnumMap<>(RouteClass.class);
+
+    private final RouteClassifier routeClassifier;
+
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    public BulkheadFilter(BulkheadProperties properties, RouteClassifier routeClassifier,
+                          CorsConfigurationSource corsConfigurationSource, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.routeClassifier = routeClassifier;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        partitions.put(RouteClass.CRUD, properties.getCrud());
+        partitions.put(RouteClass.ANALYTICS, properties.getAnalytics());
+        partitions.forEach((routeClass, partition) -> {
+            Semaphore semaphore = new Semaphore(partition.getMaxConcurrent());
+            permits.put(routeClass, semaphore);
+            Gauge.builder(METRIC_PREFIX + ".available", semaphore, Semaphore::availablePermits)
+                    .description("Huecos libres por clase de ruta")
+                    .tag("class", tag(routeClass))
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = routeClassifier.classify(request);
+        Semaphore semaphore = permits.get(routeClass);
+        if (!acquire(semaphore, partitions.get(routeClass))) {
+            rejected(routeClass);
+            reject(request, response, routeClass);
+            return;
+        }
+
+        RouteClass.bind(routeClass);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RouteClass.clear();
+            semaphore.release();
+        }
+    }
+
+    private boolean acquire(Semaphore semaphore, BulkheadProperties.Partition partition) {
+        try {
+            return semaphore.tryAcquire(partition.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RouteClass routeClass)
+            throws IOException {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", "Servicio no disponible");
+        body.put("message", "Cupo de peticiones " + tag(routeClass) + " completo, intente de nuevo");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, routeClass == RouteClass.ANALYTICS ? "5" : "1");
+        CorsHeaders.addTo(corsConfigurationSource, request, response);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void rejected(RouteClass routeClass) {
+        Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Peticiones rechazadas con 503 por cupo completo")
+                .tag("class", tag(routeClass))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String tag(RouteClass routeClass) {
+        return routeClass.name().toLowerCase(Locale.ROOT);
+    }
+}
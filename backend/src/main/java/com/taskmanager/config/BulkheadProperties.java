@@ -0,0 +1,111 @@
+package com.taskmanager.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de los bulkheads por clase de ruta
+ * Las rutas de análisis (listados completos, búsquedas, estadísticas) tienen
+ * su propio cupo de peticiones y su propio pool de conexiones, separados de
+ * las operaciones CRUD. El pool de análisis se configura en
+ * app.bulkhead.analytics.hikari.* y el CRUD en spring.datasource.hikari.*
+ *
+ * @author Andre
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Habilitar los bulkheads (cupos y pools de conexiones separados)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rutas GET de la clase de análisis (patrones Ant)
+     */
+    private List<String> analyticsPaths = new ArrayList<>();
+
+    /**
+     * Cupo de las operaciones CRUD
+     */
+    private Partition crud = new Partition(150, Duration.ZERO);
+
+    /**
+     * Cupo de las rutas de análisis
+     */
+    private Partition analytics = new Partition(8, Duration.ofMillis(500));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getAnalyticsPaths() {
+        return analyticsPaths;
+    }
+
+    public void setAnalyticsPaths(List<String> analyticsPaths) {
+        this.analyticsPaths = analyticsPaths;
+    }
+
+    public Partition getCrud() {
+        return crud;
+    }
+
+    public void setCrud(Partition crud) {
+        this.crud = crud;
+    }
+
+    public Partition getAnalytics() {
+        return analytics;
+    }
+
+    public void setAnalytics(Partition analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Cupo de peticiones de una clase de ruta
+     */
+    public static class Partition {
+
+        /**
+         * Peticiones concurrentes admitidas
+         */
+        private int maxConcurrent;
+
+        /**
+         * Espera máxima por un hueco antes de responder 503
+         */
+        private Duration maxWait;
+
+        public Partition() {
+        }
+
+        public Partition(int maxConcurrent, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Límite de concurrencia adaptativo por grupo de rutas (/api/tasks, /api/users
+ * y las rutas de análisis, que tienen su propio grupo)
+ * Cuando la base de datos se ralentiza las peticiones se acumulan en la cola
+ * de Tomcat hasta que todas vencen a la vez. Con un límite por grupo que se
+ * ajusta a la latencia observada, lo que excede el límite recibe un 503 con
+ * Retry-After de inmediato y las peticiones admitidas mantienen su latencia.
+ * Las rutas de análisis se miden aparte para que su latencia no reduzca el
+ * límite de las operaciones CRUD.
+ *
+ * Las respuestas en streaming (SSE y exportaciones) y las subidas de
+ * importación no pasan por aquí: su duración no refleja la carga de la base
+ * de datos. Los preflight CORS (OPTIONS) tampoco, y el 503 lleva las
+ * cabeceras CORS para que el frontend pueda leerlo.
+ *
+ * @author Andre
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_PREFIX = "taskmanager.concurrency-limit";
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new LinkedHashMap<>();
+
+    private final RouteClassifier routeClassifier;
+
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    public ConcurrencyLimitFilter(RouteClassifier routeClassifier, CorsConfigurationSource corsConfigurationSource,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${app.concurrency-limit.min-limit:5}") int minLimit,
+                                  @Value("${app.concurrency-limit.max-limit:200}") int maxLimit) {
+        this.routeClassifier = routeClassifier;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        for (String group : new String[] {"tasks", "users", "analytics"}) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+            limits.put(group, limit);
+            Gauge.builder(METRIC_PREFIX + ".limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Peticiones concurrentes admitidas por grupo de rutas")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Peticiones en curso por grupo de rutas")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || group(request) == null
+                || path.equals("/api/tasks/stream")
+                || path.equals("/api/tasks/export")
+                || path.equals("/api/tasks/import");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String group = group(request);
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejected(group);
+            reject(request, response, limit);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                limit.onIgnore();
+            } else if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                limit.onDropped();
+            } else {
+                limit.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private String group(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String group : new String[] {"tasks", "users"}) {
+            String prefix = "/api/" + group;
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return routeClassifier.classify(request) == RouteClass.ANALYTICS ? "analytics" : group;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimit limit)
+            throws IOException {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", "Servicio no disponible");
+        body.put("message", "Demasiadas peticiones en curso (límite " + limit.getLimit() + "), intente de nuevo");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        CorsHeaders.addTo(corsConfigurationSource, request, response);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void rejected(String group) {
+        Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Peticiones rechazadas con 503 por superar el límite de concurrencia")
+                .tag("group", group)
+                .register(meterRegistry)
+                .increment();
+    }
+}
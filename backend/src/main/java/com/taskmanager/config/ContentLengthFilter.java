@@ -0,0 +1,205 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Fija Content-Length en las respuestas pequeñas de la API
+ * Jackson escribe el cuerpo sin longitud conocida y Tomcat comprime toda
+ * respuesta sin longitud, así que server.compression.min-response-size no
+ * tendría efecto. Solo se retienen en memoria los primeros bytes, hasta ese
+ * mismo umbral: si la respuesta termina antes se envía con su longitud (y sin
+ * comprimir); si lo supera se vuelca lo retenido y el resto se escribe
+ * directamente, así que los listados grandes no se copian en memoria.
+ *
+ * Las respuestas en streaming (SSE, exportaciones y la API reactiva) no
+ * pasan por aquí.
+ *
+ * Va justo antes de DeadlineFilter, que puede reemplazar la respuesta
+ * mientras el cuerpo sigue retenido.
+ *
+ * @author Andre
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public ContentLengthFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.threshold = (int) threshold.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || path.equals("/api/tasks/stream")
+                || path.equals("/api/tasks/export")
+                || path.startsWith("/api/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ThresholdResponseWrapper wrapper = new ThresholdResponseWrapper(response, threshold);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Respuesta que retiene el cuerpo hasta el umbral y después lo deja pasar
+     */
+    static final class ThresholdResponseWrapper extends HttpServletResponseWrapper {
+
+        private final int threshold;
+
+        private ByteArrayOutputStream buffer;
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        ThresholdResponseWrapper(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+            this.buffer = new ByteArrayOutputStream(Math.min(threshold, 1024));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() ya fue llamado en esta respuesta");
+            }
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() ya fue llamado en esta respuesta");
+                }
+                outputStream = new ThresholdOutputStream();
+                writer = new PrintWriter(new OutputStreamWriter(outputStream,
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            // Mientras se retiene, un flush confirmaría la respuesta sin longitud
+            if (buffer == null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            resetState();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer != null && buffer.size() > 0) {
+                if (!super.isCommitted()) {
+                    getResponse().setContentLength(buffer.size());
+                }
+                release();
+            }
+            buffer = null;
+        }
+
+        private void resetState() {
+            buffer = new ByteArrayOutputStream(Math.min(threshold, 1024));
+            outputStream = null;
+            writer = null;
+        }
+
+        // Vuelca lo retenido y deja de retener (la respuesta irá sin longitud)
+        private void release() throws IOException {
+            ServletOutputStream target = getResponse().getOutputStream();
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (buffer != null && buffer.size() + length > threshold) {
+                release();
+            }
+            if (buffer != null) {
+                buffer.write(bytes, offset, length);
+            } else {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Salida del cuerpo que escribe a través del umbral
+         */
+        private final class ThresholdOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                ThresholdResponseWrapper.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(@NonNull byte[] bytes, int offset, int length) throws IOException {
+                ThresholdResponseWrapper.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (buffer == null) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("Escritura no bloqueante no soportada");
+            }
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class CorsConfig implements WebMvcConfigurer {
                     "http://localhost:3000",           // Para desarrollo local alternativo
                     "https://task-manager-pipe.netlify.app"  // Para producción en Netlify
                 )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight por 1 hora
@@ -45,7 +45,7 @@ public class CorsConfig implements WebMvcConfigurer {
         ));
         
         // Métodos HTTP permitidos
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
         // Headers permitidos
         configuration.setAllowedHeaders(Arrays.asList("*"));
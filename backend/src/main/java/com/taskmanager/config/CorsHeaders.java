@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsUtils;
+
+/**
+ * Cabeceras CORS para las respuestas que un filtro escribe antes de llegar a
+ * Spring Security (p. ej. los 503 por sobrecarga). Sin ellas el navegador
+ * oculta el 503 y su Retry-After al frontend y solo ve un error de CORS.
+ *
+ * @author Andre
+ */
+final class CorsHeaders {
+
+    private CorsHeaders() {}
+
+    /**
+     * Añadir las cabeceras CORS de la configuración de la aplicación si el
+     * origen de la petición está permitido
+     *
+     * @param source configuración CORS de la aplicación
+     * @param request petición en curso
+     * @param response respuesta que escribe el filtro
+     */
+    static void addTo(CorsConfigurationSource source, HttpServletRequest request, HttpServletResponse response) {
+        if (!CorsUtils.isCorsRequest(request)) {
+            return;
+        }
+        CorsConfiguration configuration = source.getCorsConfiguration(request);
+        String origin = configuration != null ? configuration.checkOrigin(request.getHeader(HttpHeaders.ORIGIN)) : null;
+        if (origin == null) {
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (Boolean.TRUE.equals(configuration.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+    }
+}
@@ -0,0 +1,167 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Plazo por petición para las llamadas a la API
+ * El plazo se toma de la cabecera Request-Timeout (milisegundos) o del valor
+ * por defecto de la clase de ruta, con un máximo. Las operaciones masivas
+ * (app.deadline.bulk-paths) escriben cientos de filas y tienen su propio
+ * plazo por defecto. Las transacciones abiertas
+ * durante la petición usan el tiempo restante como timeout de sus consultas
+ * (DeadlineTransactionManager), así una búsqueda lenta no retiene una
+ * conexión cuando el cliente ya no espera la respuesta.
+ *
+ * Si el plazo vence y la petición termina con error, la respuesta es 504.
+ * El filtro va después de ContentLengthFilter: el cuerpo aún está en memoria
+ * y la respuesta se puede reemplazar. El plazo empieza una vez admitida la
+ * petición (límite de concurrencia y bulkheads tienen sus propias esperas).
+ *
+ * La subida de una importación no tiene plazo: dura lo que tarde el cliente
+ * en enviar el archivo y el trabajo se procesa después en segundo plano.
+ *
+ * @author Andre
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Request-Timeout";
+
+    private final RouteClassifier routeClassifier;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final Duration crudTimeout;
+
+    private final Duration analyticsTimeout;
+
+    private final Duration bulkTimeout;
+
+    private final Duration maxTimeout;
+
+    private final Set<String> bulkPaths;
+
+    public DeadlineFilter(RouteClassifier routeClassifier, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${app.deadline.enabled:true}") boolean enabled,
+                          @Value("${app.deadline.crud-timeout:5s}") Duration crudTimeout,
+                          @Value("${app.deadline.analytics-timeout:15s}") Duration analyticsTimeout,
+                          @Value("${app.deadline.bulk-timeout:30s}") Duration bulkTimeout,
+                          @Value("${app.deadline.max-timeout:30s}") Duration maxTimeout,
+                          @Value("${app.deadline.bulk-paths:/api/tasks/batch,/api/tasks/bulk-status,/api/tasks/reassign}")
+                          List<String> bulkPaths) {
+        this.routeClassifier = routeClassifier;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.crudTimeout = crudTimeout;
+        this.analyticsTimeout = analyticsTimeout;
+        this.bulkTimeout = bulkTimeout;
+        this.maxTimeout = maxTimeout;
+        this.bulkPaths = Set.copyOf(bulkPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || !path.startsWith("/api/")
+                || path.equals("/api/tasks/stream")
+                || path.equals("/api/tasks/export")
+                || path.equals("/api/tasks/import")
+                || path.startsWith("/api/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = routeClassifier.classify(request);
+        Duration timeout;
+        try {
+            timeout = timeout(request.getHeader(HEADER), routeClass, bulkPaths.contains(request.getRequestURI()));
+        } catch (IllegalArgumentException e) {
+            write(response, HttpStatus.BAD_REQUEST, "Error de validación", e.getMessage());
+            return;
+        }
+
+        RequestDeadline deadline = RequestDeadline.bind(timeout);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        // Los controladores convierten la excepción del timeout en 404/500:
+        // si el plazo venció, el error real es el tiempo agotado
+        if (deadline.isExpired() && response.getStatus() >= 400 && !response.isCommitted()) {
+            exceeded(routeClass);
+            response.reset();
+            write(response, HttpStatus.GATEWAY_TIMEOUT, "Tiempo agotado",
+                    "La petición superó su plazo de " + timeout.toMillis() + " ms");
+        }
+    }
+
+    private Duration timeout(String header, RouteClass routeClass, boolean bulk) {
+        if (header == null) {
+            if (bulk) {
+                return bulkTimeout;
+            }
+            return routeClass == RouteClass.ANALYTICS ? analyticsTimeout : crudTimeout;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(HEADER + " debe ser un número de milisegundos");
+        }
+        if (millis <= 0) {
+            throw new IllegalArgumentException(HEADER + " debe ser mayor que 0");
+        }
+        Duration requested = Duration.ofMillis(millis);
+        return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+    }
+
+    private void write(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", error);
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void exceeded(RouteClass routeClass) {
+        Counter.builder("taskmanager.deadline.exceeded")
+                .description("Peticiones que terminaron con error después de vencer su plazo")
+                .tag("class", routeClass.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+}
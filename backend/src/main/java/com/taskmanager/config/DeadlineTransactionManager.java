@@ -0,0 +1,36 @@
+package com.taskmanager.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Gestor de transacciones JPA que aplica el plazo de la petición
+ * El timeout de cada transacción nueva es el tiempo que le queda a la
+ * petición. Hibernate lo aplica como query timeout a cada sentencia JDBC, así
+ * que el driver cancela la consulta al vencer el plazo y la conexión vuelve
+ * al pool. Los timeouts JDBC son de segundos enteros, así que la cancelación
+ * puede llegar uno o dos segundos después del plazo.
+ *
+ * @author Andre
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Plazo de la petición vencido antes de abrir la transacción");
+        }
+        // Hibernate trunca los segundos restantes en cada sentencia y con 0
+        // falla sin ejecutarla: el segundo extra deja el redondeo hacia arriba
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE - 1, (remainingMillis + 999) / 1000) + 1;
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
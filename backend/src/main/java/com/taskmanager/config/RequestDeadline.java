@@ -0,0 +1,60 @@
+package com.taskmanager.config;
+
+import java.time.Duration;
+
+/**
+ * Plazo de la petición en curso
+ * DeadlineFilter lo fija al empezar la petición (cabecera Request-Timeout o
+ * valor por defecto de la ruta) y lo asocia al hilo; las transacciones lo
+ * convierten en timeout de las consultas JDBC. Fuera de una petición no hay
+ * plazo.
+ *
+ * @author Andre
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Plazo de la petición que atiende el hilo actual
+     *
+     * @return RequestDeadline plazo actual (null si no hay ninguno)
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Tiempo que queda hasta el plazo
+     *
+     * @return long milisegundos restantes (0 o negativo si ya venció)
+     */
+    public long remainingMillis() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime()).toMillis();
+    }
+
+    /**
+     * Comprobar si el plazo ya venció
+     *
+     * @return boolean true si no queda tiempo
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    static RequestDeadline bind(Duration timeout) {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + timeout.toNanos());
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
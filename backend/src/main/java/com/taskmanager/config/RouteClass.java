@@ -0,0 +1,86 @@
+package com.taskmanager.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Clase de ruta de una petición (bulkheads)
+ * La clase de la petición en curso se guarda en el hilo para que el
+ * DataSource elija el pool de conexiones correspondiente. Fuera de una
+ * petición (tareas programadas, importaciones) se usa CRUD. El trabajo que
+ * la petición delega en otros hilos se envuelve con propagate().
+ *
+ * @author Andre
+ */
+public enum RouteClass {
+
+    CRUD,
+    ANALYTICS;
+
+    private static final ThreadLocal<RouteClass> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Clase de la petición que atiende el hilo actual
+     *
+     * @return RouteClass clase actual (CRUD si no hay ninguna)
+     */
+    public static RouteClass current() {
+        RouteClass routeClass = CURRENT.get();
+        return routeClass != null ? routeClass : CRUD;
+    }
+
+    /**
+     * Envolver una tarea para que corra con la clase del hilo que la envuelve
+     *
+     * @param task tarea a ejecutar en otro hilo
+     * @return Runnable tarea con la clase capturada
+     */
+    public static Runnable propagate(Runnable task) {
+        RouteClass captured = CURRENT.get();
+        return () -> {
+            RouteClass previous = CURRENT.get();
+            restore(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Envolver una consulta para que corra con la clase del hilo que la envuelve
+     *
+     * @param task consulta a ejecutar en otro hilo
+     * @return Supplier<T> consulta con la clase capturada
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RouteClass captured = CURRENT.get();
+        return () -> {
+            RouteClass previous = CURRENT.get();
+            restore(captured);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // Con CallerRunsPolicy la tarea corre en el propio hilo de la petición:
+    // se restaura la clase anterior en lugar de borrarla
+    private static void restore(RouteClass routeClass) {
+        if (routeClass != null) {
+            CURRENT.set(routeClass);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void bind(RouteClass routeClass) {
+        CURRENT.set(routeClass);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Clasificación de las peticiones en CRUD o análisis
+ * Son de análisis las lecturas GET de app.bulkhead.analytics-paths; la
+ * consulta de varias tareas por ID (GET /api/tasks?ids=) sigue siendo CRUD.
+ *
+ * @author Andre
+ */
+@Component
+public class RouteClassifier {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<String> analyticsPaths;
+
+    public RouteClassifier(BulkheadProperties properties) {
+        this.analyticsPaths = List.copyOf(properties.getAnalyticsPaths());
+    }
+
+    /**
+     * Clasificar una petición
+     *
+     * @param request petición HTTP
+     * @return RouteClass clase de la ruta
+     */
+    public RouteClass classify(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getParameter("ids") != null) {
+            return RouteClass.CRUD;
+        }
+        String path = request.getRequestURI();
+        for (String pattern : analyticsPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return RouteClass.ANALYTICS;
+            }
+        }
+        return RouteClass.CRUD;
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.config;
+
+import com.taskmanager.cache.UserDataVersionInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC (interceptores y conversores)
+ *
+ * @author Andre
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UserDataVersionInterceptor userDataVersionInterceptor;
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    private final Duration exportTimeout;
+
+    public WebConfig(UserDataVersionInterceptor userDataVersionInterceptor,
+                     Jackson2ObjectMapperBuilder objectMapperBuilder,
+                     @Value("${app.export.async-timeout:1h}") Duration exportTimeout) {
+        this.userDataVersionInterceptor = userDataVersionInterceptor;
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // ETag por usuario para las lecturas de tareas de un usuario
+        // (la sincronización incremental lee directamente el registro de cambios).
+        // Vencidas, próximas a vencer y el resumen dependen también de la hora,
+        // no solo de las escrituras: sin ETag
+        registry.addInterceptor(userDataVersionInterceptor)
+                .addPathPatterns("/api/tasks/user/**")
+                .excludePathPatterns("/api/tasks/user/*/changes",
+                        "/api/tasks/user/*/overdue",
+                        "/api/tasks/user/*/due-soon",
+                        "/api/tasks/user/*/summary");
+    }
+
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        // CBOR y Smile solo con Accept explícito: van detrás de JSON, que sigue
+        // siendo el formato por defecto. Sustituyen a los conversores por defecto,
+        // que no usan la configuración spring.jackson.*
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(BinaryFormats.cborConverter(objectMapperBuilder));
+        converters.add(BinaryFormats.smileConverter(objectMapperBuilder));
+    }
+
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        // La exportación escribe durante minutos; se amplía su timeout justo
+        // antes de iniciar el modo asíncrono, sin tocar el de otras peticiones
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest asyncRequest && servletRequest != null
+                        && "/api/tasks/export".equals(servletRequest.getRequestURI())) {
+                    asyncRequest.setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
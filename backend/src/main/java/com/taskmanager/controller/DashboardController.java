@@ -0,0 +1,49 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.controller.UserController.ErrorResponse;
+import com.taskmanager.service.DashboardService;
+import com.taskmanager.service.DashboardService.Dashboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST del panel principal
+ *
+ * @author Andre
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:4200")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * Obtener todo lo que la interfaz necesita al iniciar en una sola petición
+     * GET /api/dashboard?taskLimit={n}
+     *
+     * @param taskLimit tamaño de la primera página de tareas (opcional)
+     * @return ResponseEntity<?> usuarios, tareas, resúmenes y estadísticas
+     */
+    @GetMapping
+    public ResponseEntity<?> getDashboard(@RequestParam(required = false) Integer taskLimit) {
+        try {
+            Dashboard dashboard = dashboardService.getDashboard(taskLimit);
+            return ResponseEntity.ok(dashboard);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(new ErrorResponse("Servicio no disponible", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al cargar el panel"));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.warmup.WarmupService;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,6 +20,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class HealthController {
 
+    private final WarmupService warmupService;
+
+    public HealthController(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
     /**
      * Endpoint de salud básico
      * 
@@ -26,11 +34,19 @@ public class HealthController {
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Task Manager Backend is running!");
         response.put("timestamp", LocalDateTime.now());
         response.put("version", "1.0.0");
-        
+        response.put("warmup", warmupService.getState());
+
+        // Durante el calentamiento la instancia no debe recibir tráfico
+        if (!warmupService.isReady()) {
+            response.put("status", "WARMING_UP");
+            response.put("message", "Task Manager Backend is warming up");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+
+        response.put("status", "UP");
+        response.put("message", "Task Manager Backend is running!");
         return ResponseEntity.ok(response);
     }
 
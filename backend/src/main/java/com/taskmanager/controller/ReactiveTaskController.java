@@ -0,0 +1,100 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.ReactiveTaskService;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST reactivo de lectura de tareas (perfil "reactive")
+ * Devuelve Flux/Mono: la petición queda en modo asíncrono mientras R2DBC
+ * consulta la base de datos y el hilo del servidor vuelve al pool. Con
+ * Accept: application/x-ndjson los listados se emiten fila a fila.
+ *
+ * @author Andre
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/reactive/tasks")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ReactiveTaskController {
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    /**
+     * Obtener todas las tareas
+     * GET /api/reactive/tasks
+     *
+     * @return Flux<Task> tareas ordenadas por ID
+     */
+    @GetMapping
+    public Flux<Task> getAllTasks() {
+        return reactiveTaskService.findAll();
+    }
+
+    /**
+     * Obtener tarea por ID
+     * GET /api/reactive/tasks/{id}
+     *
+     * @param id ID de la tarea
+     * @return Mono<ResponseEntity<Task>> tarea encontrada o 404
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Obtener tareas de un usuario
+     * GET /api/reactive/tasks/user/{userId}
+     *
+     * @param userId ID del usuario
+     * @return Flux<Task> tareas del usuario
+     */
+    @GetMapping("/user/{userId}")
+    public Flux<Task> getTasksByUser(@PathVariable Long userId) {
+        return reactiveTaskService.findByUser(userId);
+    }
+
+    /**
+     * Obtener tareas por estado
+     * GET /api/reactive/tasks/status/{status}
+     *
+     * @param status estado de la tarea
+     * @return Flux<Task> tareas con el estado indicado
+     */
+    @GetMapping("/status/{status}")
+    public Flux<Task> getTasksByStatus(@PathVariable Task.Status status) {
+        return reactiveTaskService.findByStatus(status);
+    }
+
+    /**
+     * Obtener tareas vencidas
+     * GET /api/reactive/tasks/overdue
+     *
+     * @return Flux<Task> tareas vencidas
+     */
+    @GetMapping("/overdue")
+    public Flux<Task> getOverdueTasks() {
+        return reactiveTaskService.findOverdue();
+    }
+
+    /**
+     * Obtener cantidad de tareas por estado
+     * GET /api/reactive/tasks/statistics/status
+     *
+     * @return Mono<Map<String, Long>> cantidad por estado
+     */
+    @GetMapping("/statistics/status")
+    public Mono<Map<String, Long>> getTaskStatisticsByStatus() {
+        return reactiveTaskService.countByStatus();
+    }
+}
@@ -1,17 +1,53 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.cache.IdempotencyStore;
+import com.taskmanager.cache.ResponseCache;
+import com.taskmanager.entity.ImportJob;
 import com.taskmanager.entity.Task;
+import com.taskmanager.service.FieldProjectionService;
+import com.taskmanager.service.TaskBatchService;
+import com.taskmanager.service.TaskBatchService.BatchRequest;
+import com.taskmanager.service.TaskBatchService.BatchResult;
+import com.taskmanager.service.TaskBulkUpdateService;
+import com.taskmanager.service.TaskBulkUpdateService.BulkStatusRequest;
+import com.taskmanager.service.TaskBulkUpdateService.BulkUpdateResult;
+import com.taskmanager.service.TaskReadCoalescer;
+import com.taskmanager.service.TaskRollupBackfillService;
+import com.taskmanager.service.TaskRollupBackfillService.BackfillJob;
+import com.taskmanager.service.TaskRollupService;
+import com.taskmanager.service.TaskRollupService.TrendPoint;
+import com.taskmanager.service.TaskExportService;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskService.TaskLookup;
 import com.taskmanager.service.TaskService.TaskSummary;
+import com.taskmanager.service.TaskSyncService;
+import com.taskmanager.service.TaskSyncService.TaskChanges;
+import com.taskmanager.stream.TaskEventBroadcaster;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * API REST - Tareas
@@ -27,35 +63,297 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private TaskRollupBackfillService taskRollupBackfillService;
+
+    @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
+    @Autowired
+    private TaskBulkUpdateService taskBulkUpdateService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Value("${app.rollup.backfill-endpoint-enabled:false}")
+    private boolean backfillEndpointEnabled;
+
     /**
      * Obtener todas las tareas
      * GET /api/tasks
      * 
-     * @return ResponseEntity<List<Task>> lista de tareas
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> lista de tareas
      */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findTasks(fields, null));
+            }
             List<Task> tasks = taskService.findAll();
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Obtener varias tareas por ID en una sola petición
+     * GET /api/tasks?ids=1,2,3
+     * 
+     * @param ids IDs de las tareas
+     * @return ResponseEntity<?> un resultado por ID en el orden solicitado
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getTasksByIds(@RequestParam List<Long> ids) {
+        return multiGet(ids);
+    }
+
+    /**
+     * Obtener varias tareas por ID (listas largas)
+     * POST /api/tasks/multi-get
+     * 
+     * @param request IDs de las tareas
+     * @return ResponseEntity<?> un resultado por ID en el orden solicitado
+     */
+    @PostMapping("/multi-get")
+    public ResponseEntity<?> multiGetTasks(@RequestBody MultiGetRequest request) {
+        return multiGet(request.getIds() != null ? request.getIds() : List.of());
+    }
+
+    private ResponseEntity<?> multiGet(List<Long> ids) {
+        try {
+            List<TaskLookup> results = taskService.findByIds(ids);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Ejecutar un lote de operaciones en una sola transacción
+     * POST /api/tasks/batch
+     * 
+     * @param request modo (ALL_OR_NOTHING o CONTINUE_ON_ERROR) y operaciones
+     * @return ResponseEntity<?> resultado por operación
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> executeBatch(@RequestBody BatchRequest request) {
+        try {
+            BatchResult result = taskBatchService.execute(request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al ejecutar el lote"));
+        }
+    }
+
+    /**
+     * Cambiar el estado de varias tareas en un solo UPDATE
+     * POST /api/tasks/bulk-status
+     * 
+     * @param request estado nuevo y tareas por 'ids' o por 'filter'
+     * @return ResponseEntity<?> cantidad de tareas modificadas
+     */
+    @PostMapping("/bulk-status")
+    public ResponseEntity<?> bulkChangeStatus(@RequestBody BulkStatusRequest request) {
+        try {
+            BulkUpdateResult result = taskBulkUpdateService.changeStatus(request);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al cambiar el estado de las tareas"));
+        }
+    }
+
+    /**
+     * Reasignar todas las tareas de un usuario a otro en un solo UPDATE
+     * POST /api/tasks/reassign?from={userId}&to={userId}
+     * 
+     * @param from ID del usuario actual
+     * @param to ID del nuevo usuario
+     * @return ResponseEntity<?> cantidad de tareas reasignadas
+     */
+    @PostMapping("/reassign")
+    public ResponseEntity<?> reassignTasks(@RequestParam Long from, @RequestParam Long to) {
+        try {
+            BulkUpdateResult result = taskBulkUpdateService.reassign(from, to);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al reasignar tareas"));
+        }
+    }
+
+    /**
+     * Exportar tareas sin cargarlas en memoria
+     * GET /api/tasks/export?format={ndjson|csv}&userId={userId}
+     * 
+     * @param format formato de salida (default: ndjson)
+     * @param userId ID del usuario (opcional)
+     * @return ResponseEntity<StreamingResponseBody> tareas escritas fila a fila
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(required = false) Long userId) {
+        TaskExportService.Format exportFormat;
+        try {
+            exportFormat = TaskExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> taskExportService.export(exportFormat, userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Importar tareas desde un archivo CSV o NDJSON (procesado en segundo plano)
+     * POST /api/tasks/import?format={csv|ndjson}&chunkSize={chunkSize}
+     * 
+     * @param body contenido del archivo
+     * @param format formato (por defecto se deduce del Content-Type)
+     * @param chunkSize filas por bloque confirmado (opcional)
+     * @param contentType tipo de contenido de la petición
+     * @return ResponseEntity<?> trabajo de importación creado
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importTasks(InputStream body,
+                                         @RequestParam(required = false) String format,
+                                         @RequestParam(required = false) Integer chunkSize,
+                                         @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType) {
+        try {
+            ImportJob.Format importFormat;
+            if (format != null) {
+                try {
+                    importFormat = ImportJob.Format.valueOf(format.trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Formato de importación no válido: " + format);
+                }
+            } else {
+                importFormat = contentType != null && contentType.contains("csv") ? ImportJob.Format.CSV : ImportJob.Format.NDJSON;
+            }
+            ImportJob job = taskImportService.startImport(body, importFormat, chunkSize);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tasks/import/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("Servicio no disponible", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al iniciar la importación"));
+        }
+    }
+
+    /**
+     * Consultar el avance de una importación
+     * GET /api/tasks/import/{jobId}
+     * 
+     * @param jobId ID del trabajo
+     * @return ResponseEntity<ImportJob> estado del trabajo
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable String jobId) {
+        return taskImportService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Reanudar una importación fallida desde el último bloque confirmado
+     * POST /api/tasks/import/{jobId}/resume
+     * 
+     * @param jobId ID del trabajo
+     * @return ResponseEntity<?> trabajo reanudado
+     */
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<?> resumeImportJob(@PathVariable String jobId) {
+        try {
+            return taskImportService.resume(jobId)
+                    .<ResponseEntity<?>>map(job -> ResponseEntity.accepted().body(job))
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new ErrorResponse("No encontrado", "Importación no encontrada con ID: " + jobId)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("Servicio no disponible", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al reanudar la importación"));
+        }
+    }
+
     /**
      * Obtener tarea por ID
      * GET /api/tasks/{id}
      * 
      * @param id ID de la tarea
-     * @return ResponseEntity<Task> tarea encontrada
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> tarea encontrada
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return fieldProjectionService.findTask(fields, id)
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
             Optional<Task> task = taskService.findById(id);
             return task.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -66,30 +364,94 @@ public class TaskController {
      * GET /api/tasks/user/{userId}
      * 
      * @param userId ID del usuario
-     * @return ResponseEntity<List<Task>> tareas del usuario
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> tareas del usuario
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Task>> getTasksByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getTasksByUser(@PathVariable Long userId,
+                                            @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findTasks(fields, FieldProjectionService.taskOwnedBy(userId)));
+            }
             List<Task> tasks = taskService.findByUserId(userId);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Obtener cambios de tareas de un usuario desde un cursor (sincronización incremental)
+     * GET /api/tasks/user/{userId}/changes?since={cursor}&limit={limit}
+     * 
+     * @param userId ID del usuario
+     * @param since cursor de la sincronización anterior (sin cursor = sincronización completa)
+     * @param limit máximo de cambios a leer (default: 500)
+     * @return ResponseEntity<?> tareas cambiadas, tombstones y siguiente cursor
+     */
+    @GetMapping("/user/{userId}/changes")
+    public ResponseEntity<?> getTaskChangesByUser(@PathVariable Long userId,
+                                                  @RequestParam(required = false) Long since,
+                                                  @RequestParam(defaultValue = "500") int limit) {
+        try {
+            TaskChanges changes = taskSyncService.getChangesSince(userId, since, limit);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(new ErrorResponse("Cursor expirado", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Suscribirse a los cambios de tareas (Server-Sent Events)
+     * GET /api/tasks/stream?userId={userId}
+     * La respuesta queda abierta en modo asíncrono y TaskEventBroadcaster
+     * escribe en ella los eventos "task" y "resync".
+     * 
+     * @param userId ID del usuario a filtrar (opcional)
+     * @param request petición HTTP
+     * @param response respuesta HTTP (503 si no se admiten más suscriptores)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamTaskChanges(@RequestParam(required = false) Long userId,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            taskEventBroadcaster.subscribe(request, response, userId);
+        } catch (IllegalStateException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
     /**
      * Obtener tareas por estado
      * GET /api/tasks/status/{status}
      * 
      * @param status estado de la tarea
-     * @return ResponseEntity<List<Task>> tareas con ese estado
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> tareas con ese estado
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Task>> getTasksByStatus(@PathVariable Task.Status status) {
+    public ResponseEntity<?> getTasksByStatus(@PathVariable Task.Status status,
+                                              @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findTasks(fields, FieldProjectionService.taskWithStatus(status)));
+            }
             List<Task> tasks = taskService.findByStatus(status);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -100,13 +462,21 @@ public class TaskController {
      * GET /api/tasks/priority/{priority}
      * 
      * @param priority prioridad de la tarea
-     * @return ResponseEntity<List<Task>> tareas con esa prioridad
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> tareas con esa prioridad
      */
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<Task>> getTasksByPriority(@PathVariable Task.Priority priority) {
+    public ResponseEntity<?> getTasksByPriority(@PathVariable Task.Priority priority,
+                                                @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findTasks(fields, FieldProjectionService.taskWithPriority(priority)));
+            }
             List<Task> tasks = taskService.findByPriority(priority);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -118,13 +488,22 @@ public class TaskController {
      * 
      * @param userId ID del usuario
      * @param status estado de la tarea
-     * @return ResponseEntity<List<Task>> tareas filtradas
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> tareas filtradas
      */
     @GetMapping("/user/{userId}/status/{status}")
-    public ResponseEntity<List<Task>> getTasksByUserAndStatus(@PathVariable Long userId, @PathVariable Task.Status status) {
+    public ResponseEntity<?> getTasksByUserAndStatus(@PathVariable Long userId, @PathVariable Task.Status status,
+                                                     @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findTasks(fields,
+                        FieldProjectionService.taskOwnedBy(userId).and(FieldProjectionService.taskWithStatus(status))));
+            }
             List<Task> tasks = taskService.findByUserIdAndStatus(userId, status);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -185,13 +564,13 @@ public class TaskController {
      * Obtener tareas vencidas
      * GET /api/tasks/overdue
      * 
-     * @return ResponseEntity<List<Task>> tareas vencidas
+     * @param accept cabecera Accept (elige JSON, CBOR o Smile)
+     * @return ResponseEntity<?> tareas vencidas (cacheadas)
      */
     @GetMapping("/overdue")
-    public ResponseEntity<List<Task>> getOverdueTasks() {
+    public ResponseEntity<?> getOverdueTasks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Task> tasks = taskService.findOverdueTasks();
-            return ResponseEntity.ok(tasks);
+            return responseCache.serve("overdue", null, accept, taskReadCoalescer::findOverdueTasks);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -327,12 +706,28 @@ public class TaskController {
     /**
      * Crear nueva tarea
      * POST /api/tasks
+     * Con cabecera Idempotency-Key los reintentos devuelven la respuesta original
      * 
+     * @param idempotencyKey clave de idempotencia (opcional)
      * @param taskRequest datos de la tarea
      * @return ResponseEntity<Task> tarea creada
      */
     @PostMapping
-    public ResponseEntity<?> createTask(@Valid @RequestBody TaskCreateRequest taskRequest) {
+    public ResponseEntity<?> createTask(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                        @Valid @RequestBody TaskCreateRequest taskRequest) {
+        try {
+            return idempotencyStore.execute("tasks", idempotencyKey, taskRequest, () -> doCreateTask(taskRequest));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Petición en curso", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> doCreateTask(TaskCreateRequest taskRequest) {
         try {
             Task task = new Task();
             task.setTitle(taskRequest.getTitle());
@@ -343,6 +738,11 @@ public class TaskController {
 
             Task createdTask = taskService.createTask(task, taskRequest.getUserId());
             return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+        } catch (DataAccessException | TransactionException e) {
+            // Fallo transitorio de la base de datos: 503 para que no se guarde como respuesta idempotente
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Servicio no disponible", "Error transitorio al crear tarea"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Error de validación", e.getMessage()));
@@ -352,6 +752,30 @@ public class TaskController {
         }
     }
 
+    /**
+     * Actualizar parcialmente una tarea (JSON Merge Patch)
+     * PATCH /api/tasks/{id}
+     * 
+     * @param id ID de la tarea
+     * @param patch campos a modificar (null borra el valor)
+     * @return ResponseEntity<?> tarea actualizada
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @RequestBody JsonNode patch) {
+        try {
+            Task updatedTask = taskService.patchTask(id, patch);
+            return ResponseEntity.ok(updatedTask);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al actualizar tarea"));
+        }
+    }
+
     /**
      * Actualizar tarea
      * PUT /api/tasks/{id}
@@ -379,13 +803,19 @@ public class TaskController {
      * 
      * @param id ID de la tarea
      * @param statusRequest nuevo estado
-     * @return ResponseEntity<Task> tarea actualizada
+     * @return ResponseEntity<Task> tarea actualizada (202 si la escritura es diferida)
      */
     @PutMapping("/{id}/status")
     public ResponseEntity<?> changeTaskStatus(@PathVariable Long id, @RequestBody TaskStatusRequest statusRequest) {
         try {
+            if (taskService.isWriteBehindEnabled()) {
+                return ResponseEntity.accepted().body(taskService.queueStatusChange(id, statusRequest.getStatus()));
+            }
             Task updatedTask = taskService.changeTaskStatus(id, statusRequest.getStatus());
             return ResponseEntity.ok(updatedTask);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -399,11 +829,14 @@ public class TaskController {
      * PUT /api/tasks/{id}/complete
      * 
      * @param id ID de la tarea
-     * @return ResponseEntity<Task> tarea completada
+     * @return ResponseEntity<Task> tarea completada (202 si la escritura es diferida)
      */
     @PutMapping("/{id}/complete")
     public ResponseEntity<?> completeTask(@PathVariable Long id) {
         try {
+            if (taskService.isWriteBehindEnabled()) {
+                return ResponseEntity.accepted().body(taskService.queueStatusChange(id, Task.Status.COMPLETED));
+            }
             Task completedTask = taskService.completeTask(id);
             return ResponseEntity.ok(completedTask);
         } catch (RuntimeException e) {
@@ -420,13 +853,19 @@ public class TaskController {
      * 
      * @param id ID de la tarea
      * @param priorityRequest nueva prioridad
-     * @return ResponseEntity<Task> tarea actualizada
+     * @return ResponseEntity<Task> tarea actualizada (202 si la escritura es diferida)
      */
     @PutMapping("/{id}/priority")
     public ResponseEntity<?> changeTaskPriority(@PathVariable Long id, @RequestBody TaskPriorityRequest priorityRequest) {
         try {
+            if (taskService.isWriteBehindEnabled()) {
+                return ResponseEntity.accepted().body(taskService.queuePriorityChange(id, priorityRequest.getPriority()));
+            }
             Task updatedTask = taskService.changeTaskPriority(id, priorityRequest.getPriority());
             return ResponseEntity.ok(updatedTask);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -483,7 +922,7 @@ public class TaskController {
     @GetMapping("/user/{userId}/summary")
     public ResponseEntity<TaskSummary> getUserTaskSummary(@PathVariable Long userId) {
         try {
-            TaskSummary summary = taskService.getUserTaskSummary(userId);
+            TaskSummary summary = taskReadCoalescer.getUserTaskSummary(userId);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -494,13 +933,13 @@ public class TaskController {
      * Obtener estadísticas de tareas por estado
      * GET /api/tasks/statistics/status
      * 
-     * @return ResponseEntity<List<Object[]>> estadísticas
+     * @param accept cabecera Accept (elige JSON, CBOR o Smile)
+     * @return ResponseEntity<?> estadísticas (cacheadas)
      */
     @GetMapping("/statistics/status")
-    public ResponseEntity<List<Object[]>> getTaskStatisticsByStatus() {
+    public ResponseEntity<?> getTaskStatisticsByStatus(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Object[]> stats = taskService.getTaskStatisticsByStatus();
-            return ResponseEntity.ok(stats);
+            return responseCache.serve("task-statistics-status", null, accept, taskReadCoalescer::getTaskStatisticsByStatus);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -510,18 +949,93 @@ public class TaskController {
      * Obtener estadísticas de tareas por prioridad
      * GET /api/tasks/statistics/priority
      * 
-     * @return ResponseEntity<List<Object[]>> estadísticas
+     * @param accept cabecera Accept (elige JSON, CBOR o Smile)
+     * @return ResponseEntity<?> estadísticas (cacheadas)
      */
     @GetMapping("/statistics/priority")
-    public ResponseEntity<List<Object[]>> getTaskStatisticsByPriority() {
+    public ResponseEntity<?> getTaskStatisticsByPriority(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Object[]> stats = taskService.getTaskStatisticsByPriority();
-            return ResponseEntity.ok(stats);
+            return responseCache.serve("task-statistics-priority", null, accept, taskReadCoalescer::getTaskStatisticsByPriority);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Obtener tendencia de tareas creadas/completadas por periodo
+     * GET /api/tasks/trends?from={from}&to={to}&granularity={granularity}&userId={userId}
+     * 
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive)
+     * @param granularity granularidad DAY, WEEK o MONTH (default: DAY)
+     * @param userId ID del usuario (opcional)
+     * @return ResponseEntity<?> puntos de la tendencia
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTaskTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") TaskRollupService.Granularity granularity,
+            @RequestParam(required = false) Long userId) {
+        try {
+            List<TrendPoint> trends = taskRollupService.getTrends(from, to, granularity, userId);
+            return ResponseEntity.ok(trends);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rellenar agregados diarios de días pasados (procesado en segundo plano)
+     * POST /api/tasks/trends/backfill?from={from}&to={to}
+     * Solo con app.rollup.backfill-endpoint-enabled=true (operación de mantenimiento)
+     * 
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive, anterior a hoy)
+     * @return ResponseEntity<?> trabajo de relleno creado
+     */
+    @PostMapping("/trends/backfill")
+    public ResponseEntity<?> backfillTaskTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!backfillEndpointEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("Operación no permitida", "El relleno de agregados está deshabilitado"));
+        }
+        try {
+            BackfillJob job = taskRollupBackfillService.startBackfill(from, to);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tasks/trends/backfill/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("Servicio no disponible", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al iniciar el relleno de agregados"));
+        }
+    }
+
+    /**
+     * Consultar el avance de un relleno de agregados
+     * GET /api/tasks/trends/backfill/{jobId}
+     * 
+     * @param jobId ID del trabajo
+     * @return ResponseEntity<BackfillJob> estado del trabajo
+     */
+    @GetMapping("/trends/backfill/{jobId}")
+    public ResponseEntity<BackfillJob> getBackfillJob(@PathVariable String jobId) {
+        return taskRollupBackfillService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Contar tareas por estado
      * GET /api/tasks/count/status/{status}
@@ -589,6 +1103,17 @@ public class TaskController {
         public void setUserId(Long userId) { this.userId = userId; }
     }
 
+    /**
+     * Request para búsqueda múltiple por ID
+     */
+    public static class MultiGetRequest {
+        private List<Long> ids;
+
+        // Getters y Setters
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+    }
+
     /**
      * Request para cambio de estado
      */
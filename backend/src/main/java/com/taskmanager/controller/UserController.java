@@ -1,13 +1,22 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.cache.IdempotencyStore;
+import com.taskmanager.cache.ResponseCache;
 import com.taskmanager.entity.User;
+import com.taskmanager.service.FieldProjectionService;
 import com.taskmanager.service.UserService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -24,17 +33,33 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     /**
      * Obtener todos los usuarios
      * GET /api/users
      * 
-     * @return ResponseEntity<List<User>> lista de usuarios
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> lista de usuarios
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findUsers(fields, null));
+            }
             List<User> users = userService.findAll();
             return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -45,14 +70,23 @@ public class UserController {
      * GET /api/users/{id}
      * 
      * @param id ID del usuario
-     * @return ResponseEntity<User> usuario encontrado
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> usuario encontrado
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return fieldProjectionService.findUser(fields, id)
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
             Optional<User> user = userService.findById(id);
             return user.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -99,13 +133,21 @@ public class UserController {
      * GET /api/users/role/{role}
      * 
      * @param role rol del usuario
-     * @return ResponseEntity<List<User>> usuarios con ese rol
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> usuarios con ese rol
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable User.Role role) {
+    public ResponseEntity<?> getUsersByRole(@PathVariable User.Role role,
+                                            @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findUsers(fields, FieldProjectionService.userWithRole(role)));
+            }
             List<User> users = userService.findByRole(role);
             return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -115,13 +157,20 @@ public class UserController {
      * Obtener usuarios activos
      * GET /api/users/active
      * 
-     * @return ResponseEntity<List<User>> usuarios habilitados
+     * @param fields campos a devolver separados por coma (opcional)
+     * @return ResponseEntity<?> usuarios habilitados
      */
     @GetMapping("/active")
-    public ResponseEntity<List<User>> getActiveUsers() {
+    public ResponseEntity<?> getActiveUsers(@RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(fieldProjectionService.findUsers(fields, FieldProjectionService.userEnabled()));
+            }
             List<User> users = userService.findActiveUsers();
             return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -179,24 +228,71 @@ public class UserController {
     /**
      * Crear nuevo usuario
      * POST /api/users
+     * Con cabecera Idempotency-Key los reintentos devuelven la respuesta original
      * 
+     * @param idempotencyKey clave de idempotencia (opcional)
      * @param user datos del usuario
      * @return ResponseEntity<User> usuario creado
      */
     @PostMapping
-    public ResponseEntity<?> createUser(@Valid @RequestBody User user) {
+    public ResponseEntity<?> createUser(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                        @Valid @RequestBody User user) {
+        try {
+            return idempotencyStore.execute("users", idempotencyKey, user, () -> doCreateUser(user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Petición en curso", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> doCreateUser(User user) {
         try {
             User createdUser = userService.createUser(user);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return serviceUnavailable(e);
+        } catch (DataAccessException | TransactionException e) {
+            // Fallo transitorio de la base de datos: 503 para que no se guarde como respuesta idempotente
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Servicio no disponible", "Error transitorio al crear usuario"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("Error interno", "Error al crear usuario"));
         }
     }
 
+    /**
+     * Actualizar parcialmente un usuario (JSON Merge Patch)
+     * PATCH /api/users/{id}
+     * 
+     * @param id ID del usuario
+     * @param patch campos a modificar (null borra el valor)
+     * @return ResponseEntity<?> usuario actualizado
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchUser(@PathVariable Long id, @RequestBody JsonNode patch) {
+        try {
+            User updatedUser = userService.patchUser(id, patch);
+            return ResponseEntity.ok(updatedUser);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Error de validación", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno", "Error al actualizar usuario"));
+        }
+    }
+
     /**
      * Actualizar usuario
      * PUT /api/users/{id}
@@ -234,6 +330,8 @@ public class UserController {
         try {
             User updatedUser = userService.changePassword(id, passwordRequest.getNewPassword());
             return ResponseEntity.ok(updatedUser);
+        } catch (RejectedExecutionException e) {
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -321,13 +419,13 @@ public class UserController {
      * Obtener estadísticas de usuarios
      * GET /api/users/statistics
      * 
-     * @return ResponseEntity<List<Object[]>> estadísticas
+     * @param accept cabecera Accept (elige JSON, CBOR o Smile)
+     * @return ResponseEntity<?> estadísticas (cacheadas)
      */
     @GetMapping("/statistics")
-    public ResponseEntity<List<Object[]>> getUserStatistics() {
+    public ResponseEntity<?> getUserStatistics(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Object[]> stats = userService.getUserStatistics();
-            return ResponseEntity.ok(stats);
+            return responseCache.serve("user-statistics", null, accept, userService::getUserStatistics);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -350,6 +448,13 @@ public class UserController {
         }
     }
 
+    // Pool de hash de contraseñas saturado: el cliente puede reintentar en breve
+    private ResponseEntity<?> serviceUnavailable(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("Servicio no disponible", e.getMessage()));
+    }
+
     // Clases internas para requests
     
     /**
@@ -0,0 +1,160 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidad del registro de cambios
+ * Cada mutación de tareas o usuarios escribe una fila en la misma transacción.
+ * El ID es el número de secuencia que siguen los demás nodos para invalidar
+ * sus cachés locales.
+ *
+ * @author Andre
+ */
+@Entity
+@Table(name = "change_log",
+       indexes = {
+           @Index(name = "idx_change_log_user", columnList = "user_id, id"),
+           @Index(name = "idx_change_log_created", columnList = "created_at")
+       })
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Usuario afectado: propietario de la tarea o el propio usuario
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructores
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(EntityType entityType, Long entityId, Long userId, Operation operation, String nodeId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.userId = userId;
+        this.operation = operation;
+        this.nodeId = nodeId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // equals y hashCode
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChangeLogEntry that = (ChangeLogEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // toString
+    @Override
+    public String toString() {
+        return "ChangeLogEntry{" +
+                "id=" + id +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", userId=" + userId +
+                ", operation=" + operation +
+                ", nodeId='" + nodeId + '\'' +
+                '}';
+    }
+
+    /**
+     * Enum para el tipo de entidad modificada
+     */
+    public enum EntityType {
+        TASK,
+        USER
+    }
+
+    /**
+     * Enum para la operación realizada
+     */
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marca de purga del registro de cambios (una sola fila)
+ * Guarda el último número de secuencia eliminado por retención: un cursor de
+ * sincronización menor que esta marca ha perdido cambios. Los huecos del
+ * IDENTITY (rollbacks, reservas) no la mueven.
+ *
+ * @author Andre
+ */
+@Entity
+@Table(name = "change_log_watermark")
+public class ChangeLogWatermark {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "pruned_through", nullable = false)
+    private Long prunedThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructores
+    public ChangeLogWatermark() {}
+
+    public ChangeLogWatermark(Long prunedThrough) {
+        this.id = SINGLETON_ID;
+        this.prunedThrough = prunedThrough;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPrunedThrough() {
+        return prunedThrough;
+    }
+
+    public void setPrunedThrough(Long prunedThrough) {
+        this.prunedThrough = prunedThrough;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
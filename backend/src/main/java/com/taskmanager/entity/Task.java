@@ -7,16 +7,19 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
  * Entidad Tarea
+ * Los UPDATE solo incluyen las columnas modificadas (@DynamicUpdate).
  * 
  * @author Andre
  */
 @Entity
+@DynamicUpdate
 @Table(name = "tasks")
 @EntityListeners(AuditingEntityListener.class)
 public class Task {
@@ -0,0 +1,199 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidad de agregados diarios de tareas
+ * Una fila por día y usuario con los contadores de transiciones de estado
+ * y la mezcla de prioridades de las tareas creadas ese día
+ *
+ * @author Andre
+ */
+@Entity
+@Table(name = "task_daily_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_user", columnNames = {"rollup_date", "user_id"}),
+       indexes = @Index(name = "idx_rollup_date", columnList = "rollup_date"))
+public class TaskDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Transiciones de estado
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "started_count", nullable = false)
+    private long startedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "reopened_count", nullable = false)
+    private long reopenedCount;
+
+    // Mezcla de prioridades de las tareas creadas
+    @Column(name = "low_count", nullable = false)
+    private long lowCount;
+
+    @Column(name = "medium_count", nullable = false)
+    private long mediumCount;
+
+    @Column(name = "high_count", nullable = false)
+    private long highCount;
+
+    @Column(name = "urgent_count", nullable = false)
+    private long urgentCount;
+
+    // Constructores
+    public TaskDailyRollup() {}
+
+    public TaskDailyRollup(LocalDate rollupDate, Long userId) {
+        this.rollupDate = rollupDate;
+        this.userId = userId;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(long createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public long getStartedCount() {
+        return startedCount;
+    }
+
+    public void setStartedCount(long startedCount) {
+        this.startedCount = startedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public void setCancelledCount(long cancelledCount) {
+        this.cancelledCount = cancelledCount;
+    }
+
+    public long getReopenedCount() {
+        return reopenedCount;
+    }
+
+    public void setReopenedCount(long reopenedCount) {
+        this.reopenedCount = reopenedCount;
+    }
+
+    public long getLowCount() {
+        return lowCount;
+    }
+
+    public void setLowCount(long lowCount) {
+        this.lowCount = lowCount;
+    }
+
+    public long getMediumCount() {
+        return mediumCount;
+    }
+
+    public void setMediumCount(long mediumCount) {
+        this.mediumCount = mediumCount;
+    }
+
+    public long getHighCount() {
+        return highCount;
+    }
+
+    public void setHighCount(long highCount) {
+        this.highCount = highCount;
+    }
+
+    public long getUrgentCount() {
+        return urgentCount;
+    }
+
+    public void setUrgentCount(long urgentCount) {
+        this.urgentCount = urgentCount;
+    }
+
+    // Métodos de utilidad
+    public void addCreated(Task.Priority priority, long amount) {
+        this.createdCount += amount;
+        switch (priority != null ? priority : Task.Priority.MEDIUM) {
+            case LOW -> this.lowCount += amount;
+            case MEDIUM -> this.mediumCount += amount;
+            case HIGH -> this.highCount += amount;
+            case URGENT -> this.urgentCount += amount;
+        }
+    }
+
+    // equals y hashCode
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskDailyRollup that = (TaskDailyRollup) o;
+        return Objects.equals(rollupDate, that.rollupDate) && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rollupDate, userId);
+    }
+
+    // toString
+    @Override
+    public String toString() {
+        return "TaskDailyRollup{" +
+                "rollupDate=" + rollupDate +
+                ", userId=" + userId +
+                ", createdCount=" + createdCount +
+                ", completedCount=" + completedCount +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio del registro de cambios
+ *
+ * @author Andre
+ */
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Buscar cambios posteriores a un número de secuencia
+     *
+     * @param sequence último número de secuencia procesado
+     * @param pageable tamaño del lote
+     * @return List<ChangeLogEntry> cambios ordenados por secuencia
+     */
+    List<ChangeLogEntry> findByIdGreaterThanOrderByIdAsc(Long sequence, Pageable pageable);
+
+    /**
+     * Buscar cambios de un tipo de entidad de un usuario posteriores a un número de secuencia
+     * (usa el índice user_id, id)
+     *
+     * @param userId ID del usuario
+     * @param entityType tipo de entidad
+     * @param sequence último número de secuencia conocido
+     * @param pageable tamaño del lote
+     * @return List<ChangeLogEntry> cambios ordenados por secuencia
+     */
+    List<ChangeLogEntry> findByUserIdAndEntityTypeAndIdGreaterThanOrderByIdAsc(
+            Long userId, ChangeLogEntry.EntityType entityType, Long sequence, Pageable pageable);
+
+    /**
+     * Obtener el último número de secuencia escrito antes de una fecha
+     *
+     * @param before fecha límite
+     * @return Long último ID o null si no hay cambios anteriores
+     */
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c WHERE c.createdAt < :before")
+    Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Obtener el último número de secuencia
+     *
+     * @return Long último ID o null si el registro está vacío
+     */
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c")
+    Long findMaxId();
+
+    /**
+     * Eliminar cambios hasta un número de secuencia (retención)
+     *
+     * @param sequence último ID a eliminar (inclusive)
+     * @return int filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.id <= :sequence")
+    int deleteThrough(@Param("sequence") Long sequence);
+}
@@ -0,0 +1,38 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ChangeLogWatermark;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de la marca de purga del registro de cambios
+ *
+ * @author Andre
+ */
+@Repository
+public interface ChangeLogWatermarkRepository extends JpaRepository<ChangeLogWatermark, Long> {
+
+    /**
+     * Obtener el último número de secuencia purgado
+     *
+     * @return Long último ID purgado o null si nunca se ha purgado
+     */
+    @Query("SELECT w.prunedThrough FROM ChangeLogWatermark w")
+    Long findPrunedThrough();
+
+    /**
+     * Buscar la marca bloqueándola para escritura, así dos nodos que purgan
+     * a la vez no la hacen retroceder
+     *
+     * @param id ID de la marca
+     * @return Optional<ChangeLogWatermark> marca encontrada o vacío
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM ChangeLogWatermark w WHERE w.id = :id")
+    Optional<ChangeLogWatermark> findForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ImportJob;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de trabajos de importación
+ *
+ * @author Andre
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * Buscar trabajos por estado
+     *
+     * @param statuses estados buscados
+     * @return List<ImportJob> trabajos en esos estados
+     */
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+
+    /**
+     * Buscar trabajos en un estado no definitivo sin actividad desde una fecha
+     *
+     * @param status estado buscado
+     * @param before fecha límite de la última actualización
+     * @return List<ImportJob> trabajos encontrados
+     */
+    List<ImportJob> findByStatusAndFinishedAtIsNullAndUpdatedAtBefore(ImportJob.Status status, LocalDateTime before);
+
+    /**
+     * Registrar el avance de un bloque confirmado
+     *
+     * @param id ID del trabajo
+     * @param processed filas leídas en el bloque
+     * @param imported filas insertadas en el bloque
+     * @param rejected filas rechazadas en el bloque
+     * @param now fecha de actualización
+     * @return int filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.processedRows = j.processedRows + :processed, " +
+           "j.importedRows = j.importedRows + :imported, j.rejectedRows = j.rejectedRows + :rejected, " +
+           "j.updatedAt = :now WHERE j.id = :id")
+    int addProgress(@Param("id") String id, @Param("processed") long processed, @Param("imported") long imported,
+                    @Param("rejected") long rejected, @Param("now") LocalDateTime now);
+}
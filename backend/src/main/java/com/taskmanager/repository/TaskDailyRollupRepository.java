@@ -0,0 +1,61 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskDailyRollup;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de agregados diarios de tareas
+ *
+ * @author Andre
+ */
+@Repository
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, Long> {
+
+    /**
+     * Buscar el agregado de un día y usuario bloqueándolo para escritura,
+     * así dos escrituras concurrentes no pierden incrementos
+     *
+     * @param rollupDate día del agregado
+     * @param userId ID del usuario
+     * @return Optional<TaskDailyRollup> agregado encontrado o vacío
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<TaskDailyRollup> findByRollupDateAndUserId(LocalDate rollupDate, Long userId);
+
+    /**
+     * Buscar agregados en un rango de días (todos los usuarios)
+     *
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive)
+     * @return List<TaskDailyRollup> agregados ordenados por día
+     */
+    List<TaskDailyRollup> findByRollupDateBetweenOrderByRollupDateAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Buscar agregados de un usuario en un rango de días
+     *
+     * @param userId ID del usuario
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive)
+     * @return List<TaskDailyRollup> agregados ordenados por día
+     */
+    List<TaskDailyRollup> findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Pares día/usuario de un rango que ya tienen agregado (usado por el relleno)
+     *
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive)
+     * @return List<Object[]> día y ID de usuario de cada agregado
+     */
+    @Query("SELECT r.rollupDate, r.userId FROM TaskDailyRollup r WHERE r.rollupDate BETWEEN :from AND :to")
+    List<Object[]> findRollupKeysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
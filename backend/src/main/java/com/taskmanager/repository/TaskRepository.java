@@ -2,10 +2,15 @@ package com.taskmanager.repository;
 
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -208,6 +213,57 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t.priority, COUNT(t) FROM Task t GROUP BY t.priority")
     List<Object[]> getTaskStatisticsByPriority();
 
+    /**
+     * Contar tareas por usuario y estado en una sola consulta
+     * 
+     * @param currentDate fecha actual (para las vencidas)
+     * @return List<Object[]> filas [userId, estado, cantidad, vencidas]
+     */
+    @Query("SELECT t.user.id, t.status, COUNT(t), " +
+           "SUM(CASE WHEN t.dueDate < :currentDate AND t.status != 'COMPLETED' THEN 1 ELSE 0 END) " +
+           "FROM Task t GROUP BY t.user.id, t.status")
+    List<Object[]> countByUserAndStatus(@Param("currentDate") LocalDateTime currentDate);
+
+    /**
+     * Contar tareas creadas por día, usuario y prioridad (recálculo de agregados)
+     * 
+     * @param start fecha de inicio (inclusive)
+     * @param end fecha de fin (exclusive)
+     * @return List<Object[]> filas [día, ID de usuario, prioridad, cantidad]
+     */
+    @Query("SELECT CAST(t.createdAt AS LocalDate), t.user.id, t.priority, COUNT(t) FROM Task t " +
+           "WHERE t.createdAt >= :start AND t.createdAt < :end " +
+           "GROUP BY CAST(t.createdAt AS LocalDate), t.user.id, t.priority")
+    List<Object[]> countCreatedByDayAndUser(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Contar tareas completadas por día y usuario (recálculo de agregados)
+     * 
+     * @param start fecha de inicio (inclusive)
+     * @param end fecha de fin (exclusive)
+     * @return List<Object[]> filas [día, ID de usuario, cantidad]
+     */
+    @Query("SELECT CAST(t.completedAt AS LocalDate), t.user.id, COUNT(t) FROM Task t " +
+           "WHERE t.status = 'COMPLETED' AND t.completedAt >= :start AND t.completedAt < :end " +
+           "GROUP BY CAST(t.completedAt AS LocalDate), t.user.id")
+    List<Object[]> countCompletedByDayAndUser(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Contar tareas en un estado por día de última modificación y usuario.
+     * Aproximación para estados sin fecha propia (en progreso, cancelada)
+     * 
+     * @param status estado de la tarea
+     * @param start fecha de inicio (inclusive)
+     * @param end fecha de fin (exclusive)
+     * @return List<Object[]> filas [día, ID de usuario, cantidad]
+     */
+    @Query("SELECT CAST(t.updatedAt AS LocalDate), t.user.id, COUNT(t) FROM Task t " +
+           "WHERE t.status = :status AND t.updatedAt >= :start AND t.updatedAt < :end " +
+           "GROUP BY CAST(t.updatedAt AS LocalDate), t.user.id")
+    List<Object[]> countStatusByUpdatedDayAndUser(@Param("status") Task.Status status,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
     /**
      * Obtener tareas próximas a vencer (en los próximos días)
      * 
@@ -219,4 +275,33 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
            "t.dueDate BETWEEN CURRENT_TIMESTAMP AND :futureDate AND " +
            "t.status != 'COMPLETED'")
     List<Task> findTasksDueSoon(@Param("userId") Long userId, @Param("futureDate") LocalDateTime futureDate);
+
+    /**
+     * Recorrer tareas con un cursor de solo avance (exportación).
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * En MySQL el fetch size solo se respeta con useCursorFetch=true en la URL
+     * 
+     * @param userId ID del usuario (null = todas las tareas)
+     * @return Stream<Task> tareas ordenadas por ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t WHERE :userId IS NULL OR t.user.id = :userId ORDER BY t.id")
+    Stream<Task> streamForExport(@Param("userId") Long userId);
+
+    /**
+     * Reasignar todas las tareas de un usuario a otro en un solo UPDATE
+     * 
+     * @param fromUserId ID del usuario actual
+     * @param target nuevo usuario
+     * @param now fecha de actualización
+     * @return int tareas reasignadas
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.user = :target, t.updatedAt = :now WHERE t.user.id = :fromUserId")
+    int reassignTasks(@Param("fromUserId") Long fromUserId, @Param("target") User target,
+                      @Param("now") LocalDateTime now);
 }
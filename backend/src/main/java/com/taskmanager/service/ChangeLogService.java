@@ -0,0 +1,168 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.ChangeLogEntry.EntityType;
+import com.taskmanager.entity.ChangeLogEntry.Operation;
+import com.taskmanager.entity.ChangeLogWatermark;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.repository.ChangeLogWatermarkRepository;
+import com.taskmanager.stream.TaskChangeEvent;
+import java.time.Duration;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * Servicio del registro de cambios
+ * Escribe una fila de change_log dentro de la transacción de cada mutación
+ * de TaskService/UserService, identificando el nodo que la originó.
+ *
+ * @author Andre
+ */
+@Service
+@Transactional
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO change_log " +
+            "(entity_type, entity_id, user_id, operation, node_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeLogWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.change-log.retention:7d}")
+    private Duration retention;
+
+    private final String nodeId;
+
+    public ChangeLogService(@Value("${app.node-id:}") String nodeId) {
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Registrar un cambio de tarea
+     * Publica un TaskChangeEvent que los oyentes reciben tras el commit
+     *
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param operation operación realizada
+     * @return ChangeLogEntry cambio registrado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ChangeLogEntry recordTask(Long taskId, Long userId, Operation operation) {
+        ChangeLogEntry entry = changeLogRepository.save(new ChangeLogEntry(EntityType.TASK, taskId, userId, operation, nodeId));
+        eventPublisher.publishEvent(TaskChangeEvent.of(entry));
+        return entry;
+    }
+
+    /**
+     * Registrar en lote el mismo cambio sobre varias tareas (un único batch JDBC)
+     *
+     * @param taskIds IDs de las tareas
+     * @param userIds IDs de los usuarios propietarios (mismo orden que taskIds)
+     * @param operation operación realizada
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTasks(List<Long> taskIds, List<Long> userIds, Operation operation) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, EntityType.TASK.name());
+                        ps.setLong(2, taskIds.get(i));
+                        ps.setLong(3, userIds.get(i));
+                        ps.setString(4, operation.name());
+                        ps.setString(5, nodeId);
+                        ps.setTimestamp(6, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return taskIds.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size(); i++) {
+            long sequence = ((Number) keys.get(i).values().iterator().next()).longValue();
+            eventPublisher.publishEvent(new TaskChangeEvent(sequence, taskIds.get(i), userIds.get(i), operation));
+        }
+    }
+
+    /**
+     * Registrar un cambio de usuario
+     *
+     * @param userId ID del usuario
+     * @param operation operación realizada
+     * @return ChangeLogEntry cambio registrado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ChangeLogEntry recordUser(Long userId, Operation operation) {
+        return changeLogRepository.save(new ChangeLogEntry(EntityType.USER, userId, userId, operation, nodeId));
+    }
+
+    /**
+     * Identificador de este nodo
+     *
+     * @return String ID del nodo
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Eliminar cambios más antiguos que el periodo de retención
+     * Purga por número de secuencia y avanza la marca de purga en la misma
+     * transacción, para que la sincronización sepa qué cursores han caducado.
+     */
+    @Scheduled(cron = "${app.change-log.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Long prunedThrough = changeLogRepository.findMaxIdCreatedBefore(LocalDateTime.now().minus(retention));
+        if (prunedThrough == null) {
+            return;
+        }
+        ChangeLogWatermark watermark = watermarkRepository.findForUpdate(ChangeLogWatermark.SINGLETON_ID)
+                .orElseGet(() -> new ChangeLogWatermark(0L));
+        if (prunedThrough <= watermark.getPrunedThrough()) {
+            return;
+        }
+        int removed = changeLogRepository.deleteThrough(prunedThrough);
+        watermark.setPrunedThrough(prunedThrough);
+        watermarkRepository.save(watermark);
+        log.info("Registro de cambios: {} filas eliminadas por retención (hasta la secuencia {})",
+                removed, prunedThrough);
+    }
+}
@@ -0,0 +1,187 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.RouteClass;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.service.TaskService.TaskSummary;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio del panel principal
+ * Reúne en una sola respuesta lo que la interfaz carga al iniciar: usuarios,
+ * primera página de tareas, resumen por usuario y estadísticas globales.
+ * Cada parte se consulta en paralelo (con su propia transacción de lectura)
+ * en un pool acotado; si el pool está lleno la parte se ejecuta en el hilo
+ * de la petición. Con hilos virtuales (spring.threads.virtual.enabled en
+ * Java 21) cada parte usa su propio hilo virtual y el límite real es el
+ * pool de conexiones de Hikari.
+ *
+ * @author Andre
+ */
+@Service
+public class DashboardService {
+
+    private final UserService userService;
+
+    private final TaskService taskService;
+
+    private final TaskReadCoalescer taskReadCoalescer;
+
+    private final Executor dashboardExecutor;
+
+    private final int defaultTaskLimit;
+
+    private final int maxTaskLimit;
+
+    private final Duration timeout;
+
+    public DashboardService(UserService userService, TaskService taskService, TaskReadCoalescer taskReadCoalescer,
+                            Environment environment,
+                            @Value("${app.dashboard.task-limit:100}") int defaultTaskLimit,
+                            @Value("${app.dashboard.max-task-limit:500}") int maxTaskLimit,
+                            @Value("${app.dashboard.timeout:5s}") Duration timeout,
+                            @Value("${app.dashboard.threads:6}") int threads,
+                            @Value("${app.dashboard.queue-capacity:64}") int queueCapacity) {
+        this.userService = userService;
+        this.taskService = taskService;
+        this.taskReadCoalescer = taskReadCoalescer;
+        this.defaultTaskLimit = defaultTaskLimit;
+        this.maxTaskLimit = maxTaskLimit;
+        this.timeout = timeout;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.dashboardExecutor = new VirtualThreadTaskExecutor("dashboard-");
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("dashboard-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            this.dashboardExecutor = pool;
+        }
+    }
+
+    /**
+     * Obtener el panel principal
+     *
+     * @param taskLimit tamaño de la primera página de tareas (null = valor por defecto)
+     * @return Dashboard datos del panel
+     * @throws IllegalArgumentException si el tamaño de página no es válido
+     * @throws IllegalStateException si alguna parte no responde a tiempo
+     */
+    public Dashboard getDashboard(Integer taskLimit) {
+        int limit = taskLimit != null ? taskLimit : defaultTaskLimit;
+        if (limit < 1 || limit > maxTaskLimit) {
+            throw new IllegalArgumentException("taskLimit debe estar entre 1 y " + maxTaskLimit);
+        }
+
+        CompletableFuture<List<User>> users = async(userService::findAll);
+        CompletableFuture<Page<Task>> tasks = async(() -> taskService.findPage(0, limit));
+        CompletableFuture<Map<Long, TaskSummary>> summaries = async(taskService::getTaskSummariesByUser);
+        CompletableFuture<List<Object[]>> byStatus = async(taskReadCoalescer::getTaskStatisticsByStatus);
+        CompletableFuture<List<Object[]>> byPriority = async(taskReadCoalescer::getTaskStatisticsByPriority);
+        CompletableFuture<List<Object[]>> byRole = async(userService::getUserStatistics);
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(users, tasks, summaries, byStatus, byPriority, byRole);
+        try {
+            all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("El panel no respondió en " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta del panel interrumpida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Error al cargar el panel", cause);
+        }
+
+        // Usuarios sin tareas con resumen en cero
+        Map<Long, TaskSummary> userSummaries = new LinkedHashMap<>();
+        for (User user : users.join()) {
+            userSummaries.put(user.getId(), summaries.join()
+                    .getOrDefault(user.getId(), new TaskSummary(0, 0, 0, 0, 0)));
+        }
+
+        Page<Task> page = tasks.join();
+        return new Dashboard(users.join(), page.getContent(), page.getTotalElements(), page.hasNext(),
+                userSummaries, counts(byStatus.join()), counts(byPriority.join()), counts(byRole.join()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dashboardExecutor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(RouteClass.propagate(supplier), dashboardExecutor);
+    }
+
+    private static Map<String, Long> counts(List<Object[]> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            counts.put(String.valueOf(row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Clase interna con los datos del panel
+     */
+    public static class Dashboard {
+        private final List<User> users;
+        private final List<Task> tasks;
+        private final long totalTasks;
+        private final boolean hasMoreTasks;
+        private final Map<Long, TaskSummary> userSummaries;
+        private final Map<String, Long> tasksByStatus;
+        private final Map<String, Long> tasksByPriority;
+        private final Map<String, Long> usersByRole;
+
+        public Dashboard(List<User> users, List<Task> tasks, long totalTasks, boolean hasMoreTasks,
+                         Map<Long, TaskSummary> userSummaries, Map<String, Long> tasksByStatus,
+                         Map<String, Long> tasksByPriority, Map<String, Long> usersByRole) {
+            this.users = users;
+            this.tasks = tasks;
+            this.totalTasks = totalTasks;
+            this.hasMoreTasks = hasMoreTasks;
+            this.userSummaries = userSummaries;
+            this.tasksByStatus = tasksByStatus;
+            this.tasksByPriority = tasksByPriority;
+            this.usersByRole = usersByRole;
+        }
+
+        // Getters
+        public List<User> getUsers() { return users; }
+        public List<Task> getTasks() { return tasks; }
+        public long getTotalTasks() { return totalTasks; }
+        public boolean isHasMoreTasks() { return hasMoreTasks; }
+        public Map<Long, TaskSummary> getUserSummaries() { return userSummaries; }
+        public Map<String, Long> getTasksByStatus() { return tasksByStatus; }
+        public Map<String, Long> getTasksByPriority() { return tasksByPriority; }
+        public Map<String, Long> getUsersByRole() { return usersByRole; }
+    }
+}
@@ -0,0 +1,259 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de lecturas con campos seleccionados (?fields=)
+ * Consulta solo las columnas pedidas y devuelve cada fila como un mapa con
+ * esos campos, así que la respuesta y el SELECT se reducen a la vez.
+ *
+ * El id se incluye siempre. Los campos calculados (overdue, completed,
+ * fullName) se derivan de las columnas que necesitan, que se leen aunque
+ * no se hayan pedido y no se devuelven. Las tareas muestran los cambios de
+ * estado y prioridad pendientes de la escritura diferida (para eso se lee
+ * siempre updatedAt); los filtros usan el valor ya escrito.
+ *
+ * @author Andre
+ */
+@Service
+public class FieldProjectionService {
+
+    // Campo JSON -> atributo JPA (en el orden de la entidad)
+    private static final Map<String, String> TASK_COLUMNS = columns(
+            "id", "id",
+            "title", "title",
+            "description", "description",
+            "status", "status",
+            "priority", "priority",
+            "dueDate", "dueDate",
+            "completedAt", "completedAt",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt",
+            "userId", "user.id");
+
+    private static final Map<String, List<String>> TASK_DERIVED = Map.of(
+            "overdue", List.of("dueDate", "status"),
+            "completed", List.of("status"));
+
+    // La contraseña no se puede seleccionar
+    private static final Map<String, String> USER_COLUMNS = columns(
+            "id", "id",
+            "username", "username",
+            "email", "email",
+            "firstName", "firstName",
+            "lastName", "lastName",
+            "role", "role",
+            "enabled", "enabled",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt");
+
+    private static final Map<String, List<String>> USER_DERIVED = Map.of(
+            "fullName", List.of("firstName", "lastName"));
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    /**
+     * Buscar tareas devolviendo solo los campos indicados
+     *
+     * @param fields campos separados por coma (ej: id,title,status)
+     * @param filter condición de búsqueda (null = todas)
+     * @return List<Map<String, Object>> una fila por tarea, ordenadas por ID
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findTasks(String fields, Specification<Task> filter) {
+        // updatedAt decide si el cambio pendiente es más nuevo que la fila
+        Set<String> overlaid = taskWriteBehindService.isEnabled() ? Set.of("updatedAt") : Set.of();
+        return select(Task.class, parse(fields, TASK_COLUMNS, TASK_DERIVED), overlaid, TASK_COLUMNS, TASK_DERIVED,
+                filter, row -> {
+                    taskWriteBehindService.overlay(row);
+                    deriveTask(row);
+                });
+    }
+
+    /**
+     * Buscar una tarea por ID devolviendo solo los campos indicados
+     *
+     * @param fields campos separados por coma
+     * @param id ID de la tarea
+     * @return Optional<Map<String, Object>> tarea encontrada
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findTask(String fields, Long id) {
+        return findTasks(fields, byId(id)).stream().findFirst();
+    }
+
+    /**
+     * Buscar usuarios devolviendo solo los campos indicados
+     *
+     * @param fields campos separados por coma (ej: id,username,fullName)
+     * @param filter condición de búsqueda (null = todos)
+     * @return List<Map<String, Object>> una fila por usuario, ordenados por ID
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findUsers(String fields, Specification<User> filter) {
+        return select(User.class, parse(fields, USER_COLUMNS, USER_DERIVED), Set.of(), USER_COLUMNS, USER_DERIVED,
+                filter, FieldProjectionService::deriveUser);
+    }
+
+    /**
+     * Buscar un usuario por ID devolviendo solo los campos indicados
+     *
+     * @param fields campos separados por coma
+     * @param id ID del usuario
+     * @return Optional<Map<String, Object>> usuario encontrado
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findUser(String fields, Long id) {
+        return findUsers(fields, byId(id)).stream().findFirst();
+    }
+
+    // Filtros usados por los controladores
+
+    public static Specification<Task> taskOwnedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> taskWithStatus(Task.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> taskWithPriority(Task.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<User> userWithRole(User.Role role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> userEnabled() {
+        return (root, query, cb) -> cb.isTrue(root.get("enabled"));
+    }
+
+    private static <T> Specification<T> byId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    private <T> List<Map<String, Object>> select(Class<T> type, Set<String> requested, Set<String> alwaysLoaded,
+                                                 Map<String, String> columns, Map<String, List<String>> derived,
+                                                 Specification<T> filter, Consumer<Map<String, Object>> derive) {
+        // Columnas a leer: las pedidas más las que necesitan los campos calculados
+        Set<String> loaded = new LinkedHashSet<>();
+        for (String field : columns.keySet()) {
+            if (requested.contains(field) || alwaysLoaded.contains(field)) {
+                loaded.add(field);
+            }
+        }
+        for (String field : requested) {
+            if (derived.containsKey(field)) {
+                loaded.addAll(derived.get(field));
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        List<Selection<?>> selections = new ArrayList<>(loaded.size());
+        for (String field : loaded) {
+            selections.add(path(root, columns.get(field)).alias(field));
+        }
+        query.multiselect(selections);
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, cb));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : loaded) {
+                row.put(field, tuple.get(field));
+            }
+            derive.accept(row);
+            row.keySet().retainAll(requested);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Path<?> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static Set<String> parse(String fields, Map<String, String> columns, Map<String, List<String>> derived) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!columns.containsKey(field) && !derived.containsKey(field)) {
+                List<String> available = new ArrayList<>(columns.keySet());
+                available.addAll(derived.keySet().stream().sorted().toList());
+                throw new IllegalArgumentException("Campo no válido: " + field
+                        + ". Campos disponibles: " + String.join(",", available));
+            }
+            requested.add(field);
+        }
+        return requested;
+    }
+
+    private static void deriveTask(Map<String, Object> row) {
+        Object status = row.get("status");
+        if (row.containsKey("status")) {
+            row.put("completed", status == Task.Status.COMPLETED);
+        }
+        if (row.containsKey("dueDate")) {
+            LocalDateTime dueDate = (LocalDateTime) row.get("dueDate");
+            row.put("overdue", dueDate != null && LocalDateTime.now().isAfter(dueDate)
+                    && status != Task.Status.COMPLETED);
+        }
+    }
+
+    private static void deriveUser(Map<String, Object> row) {
+        if (row.containsKey("firstName") && row.containsKey("lastName")) {
+            row.put("fullName", row.get("firstName") + " " + row.get("lastName"));
+        }
+    }
+
+    private static Map<String, String> columns(String... pairs) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            columns.put(pairs[i], pairs[i + 1]);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplicación de JSON Merge Patch (RFC 7396) sobre entidades
+ * Solo se modifican los campos presentes en el patch (null borra el valor)
+ * y solo si están en la lista de campos editables. La entidad resultante se
+ * valida con sus anotaciones antes de volver al servicio.
+ *
+ * @author Andre
+ */
+@Component
+public class JsonMergePatcher {
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    public JsonMergePatcher(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Aplicar un merge patch sobre una entidad
+     *
+     * @param target entidad a modificar
+     * @param patch documento JSON Merge Patch (objeto)
+     * @param editableFields campos que el patch puede modificar
+     * @return boolean true si algún campo cambió de valor
+     * @throws IllegalArgumentException si el patch no es válido o deja la entidad inválida
+     */
+    public <T> boolean apply(T target, JsonNode patch, Set<String> editableFields) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("El cuerpo debe ser un objeto JSON");
+        }
+        Set<String> unknown = new TreeSet<>();
+        Iterator<String> names = patch.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!editableFields.contains(name)) {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Campos no editables: " + String.join(", ", unknown)
+                    + ". Disponibles: " + String.join(", ", new TreeSet<>(editableFields)));
+        }
+
+        ObjectNode before = snapshot(target, editableFields);
+        try {
+            objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Valor no válido en el patch: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Valor no válido en el patch: " + e.getMessage());
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(target);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+        }
+        return !before.equals(snapshot(target, editableFields));
+    }
+
+    private ObjectNode snapshot(Object target, Set<String> fields) {
+        ObjectNode node = objectMapper.valueToTree(target);
+        node.retain(fields);
+        return node;
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio de hash de contraseñas en un pool propio
+ * BCrypt consume ~100 ms de CPU por operación. Ejecutarlo en un pool acotado
+ * (hilos y cola) limita cuánta CPU puede tomar el tráfico de credenciales;
+ * si el pool está lleno la operación se rechaza de inmediato con
+ * RejectedExecutionException (503) en lugar de encolar sin límite y dejar
+ * los hilos de Tomcat esperando. La espera no supera el plazo de la petición.
+ *
+ * @author Andre
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String METRIC_PREFIX = "taskmanager.password-hashing";
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor hashingExecutor;
+
+    private final Duration timeout;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                                  @Value("${app.password-hashing.threads:2}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:16}") int queueCapacity,
+                                  @Value("${app.password-hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingExecutor.allowCoreThreadTimeOut(true);
+        meterRegistry.gauge(METRIC_PREFIX + ".active", hashingExecutor, ThreadPoolExecutor::getActiveCount);
+        meterRegistry.gauge(METRIC_PREFIX + ".queued", hashingExecutor, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Calcular el hash de una contraseña
+     *
+     * @param rawPassword contraseña en texto plano
+     * @return String hash BCrypt
+     * @throws RejectedExecutionException si el pool está saturado
+     */
+    public String encode(String rawPassword) {
+        return execute("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Comprobar una contraseña contra su hash
+     *
+     * @param rawPassword contraseña en texto plano
+     * @param encodedPassword hash guardado
+     * @return boolean true si coinciden
+     * @throws RejectedExecutionException si el pool está saturado
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private <T> T execute(String operation, Callable<T> hashing) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(() -> {
+                timer(operation, "wait").record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                long start = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    timer(operation, "hash").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected(operation, "saturated");
+            throw new RejectedExecutionException("Servicio de contraseñas saturado, intente de nuevo");
+        }
+
+        RequestDeadline deadline = RequestDeadline.current();
+        long waitMillis = deadline != null
+                ? Math.min(timeout.toMillis(), Math.max(deadline.remainingMillis(), 0))
+                : timeout.toMillis();
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected(operation, "timeout");
+            throw new RejectedExecutionException("Servicio de contraseñas sin respuesta en " + waitMillis + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Hash de contraseña interrumpido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+
+    private void rejected(String operation, String reason) {
+        Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Operaciones de hash rechazadas por saturación o tiempo de espera")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timer(String operation, String phase) {
+        return Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Tiempo en cola (wait) y de cálculo (hash) por operación")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
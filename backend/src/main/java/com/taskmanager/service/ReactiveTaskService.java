@@ -0,0 +1,136 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio reactivo de lectura de tareas (perfil "reactive")
+ * Contraparte no bloqueante de las lecturas de TaskService: consulta la misma
+ * base de datos con R2DBC y devuelve Flux/Mono, así una petición que espera
+ * a la base de datos o a un cliente lento no ocupa un hilo. Las escrituras
+ * siguen en TaskService (log de cambios, agregados y versiones).
+ * Igual que TaskService, las lecturas por ID, por usuario y el listado
+ * muestran los cambios pendientes de la escritura diferida; los filtros por
+ * estado y los conteos usan el valor ya escrito.
+ *
+ * @author Andre
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    private static final String SELECT_TASKS = "SELECT id, title, description, status, priority, due_date, "
+            + "completed_at, created_at, updated_at, user_id FROM tasks";
+
+    private final DatabaseClient databaseClient;
+
+    private final TaskWriteBehindService taskWriteBehindService;
+
+    public ReactiveTaskService(DatabaseClient databaseClient, TaskWriteBehindService taskWriteBehindService) {
+        this.databaseClient = databaseClient;
+        this.taskWriteBehindService = taskWriteBehindService;
+    }
+
+    /**
+     * Obtener todas las tareas
+     *
+     * @return Flux<Task> tareas ordenadas por ID
+     */
+    public Flux<Task> findAll() {
+        return databaseClient.sql(SELECT_TASKS + " ORDER BY id")
+                .map(ReactiveTaskService::toTask)
+                .all()
+                .map(taskWriteBehindService::overlay);
+    }
+
+    /**
+     * Buscar tarea por ID
+     *
+     * @param id ID de la tarea
+     * @return Mono<Task> tarea (vacío si no existe)
+     */
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql(SELECT_TASKS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskService::toTask)
+                .one()
+                .map(taskWriteBehindService::overlay);
+    }
+
+    /**
+     * Obtener tareas de un usuario
+     *
+     * @param userId ID del usuario
+     * @return Flux<Task> tareas del usuario ordenadas por ID
+     */
+    public Flux<Task> findByUser(Long userId) {
+        return databaseClient.sql(SELECT_TASKS + " WHERE user_id = :userId ORDER BY id")
+                .bind("userId", userId)
+                .map(ReactiveTaskService::toTask)
+                .all()
+                .map(taskWriteBehindService::overlay);
+    }
+
+    /**
+     * Obtener tareas por estado
+     *
+     * @param status estado de la tarea
+     * @return Flux<Task> tareas con el estado indicado ordenadas por ID
+     */
+    public Flux<Task> findByStatus(Task.Status status) {
+        return databaseClient.sql(SELECT_TASKS + " WHERE status = :status ORDER BY id")
+                .bind("status", status.name())
+                .map(ReactiveTaskService::toTask)
+                .all();
+    }
+
+    /**
+     * Obtener tareas vencidas
+     *
+     * @return Flux<Task> tareas vencidas no completadas
+     */
+    public Flux<Task> findOverdue() {
+        return databaseClient.sql(SELECT_TASKS + " WHERE due_date < :now AND status <> 'COMPLETED' ORDER BY id")
+                .bind("now", LocalDateTime.now())
+                .map(ReactiveTaskService::toTask)
+                .all();
+    }
+
+    /**
+     * Obtener cantidad de tareas por estado
+     *
+     * @return Mono<Map<String, Long>> cantidad por estado
+     */
+    public Mono<Map<String, Long>> countByStatus() {
+        return databaseClient.sql("SELECT status, COUNT(*) AS total FROM tasks GROUP BY status ORDER BY status")
+                .map(row -> Map.entry(row.get("status", String.class), row.get("total", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task(row.get("title", String.class), row.get("description", String.class),
+                Task.Priority.valueOf(row.get("priority", String.class)),
+                row.get("due_date", LocalDateTime.class));
+        task.setId(row.get("id", Long.class));
+        task.setStatus(Task.Status.valueOf(row.get("status", String.class)));
+        task.setCompletedAt(row.get("completed_at", LocalDateTime.class));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+
+        // Solo el ID del propietario (la entidad no se carga)
+        User user = new User();
+        user.setId(row.get("user_id", Long.class));
+        task.setUser(user);
+        return task;
+    }
+}
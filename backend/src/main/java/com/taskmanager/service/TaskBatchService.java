@@ -0,0 +1,525 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.LockModeType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+/**
+ * Servicio de operaciones por lotes sobre tareas
+ * Ejecuta una lista ordenada de operaciones en una sola transacción.
+ *
+ * Las tareas y usuarios referenciados se cargan de una vez al principio (las
+ * tareas bloqueadas en orden de ID, como el flush de TaskWriteBehindService,
+ * para que nadie las cambie entre la lectura y la escritura) y los cambios se
+ * aplican en memoria; al final se escriben con un batch JDBC por cada
+ * combinación de columnas tocadas (Task usa @DynamicUpdate y Hibernate no
+ * agrupa esos UPDATE), junto con el registro de cambios y los agregados
+ * diarios. El lote corre con FlushMode.COMMIT para que las
+ * consultas intermedias no fuercen un flush por operación.
+ *
+ * Cada operación se valida antes de ejecutarse: una excepción dentro de
+ * TaskService marcaría la transacción entera como rollback-only, así que
+ * los errores esperables (tarea inexistente, datos inválidos) se detectan
+ * aquí y el modo CONTINUE_ON_ERROR puede seguir con el resto.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskBatchService {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private DataVersionTracker dataVersionTracker;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.batch.max-operations:200}")
+    private int maxOperations;
+
+    /**
+     * Ejecutar un lote de operaciones
+     *
+     * @param request modo y operaciones en orden
+     * @return BatchResult resultado por operación y si se confirmó el lote
+     * @throws IllegalArgumentException si el lote está vacío o supera el máximo
+     */
+    @Transactional
+    public BatchResult execute(BatchRequest request) {
+        List<BatchOperation> operations = request.getOperations() != null ? request.getOperations() : List.of();
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("El lote no contiene operaciones");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Se permiten como máximo " + maxOperations + " operaciones por lote");
+        }
+        Mode mode = request.getMode() != null ? request.getMode() : Mode.ALL_OR_NOTHING;
+
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        Map<Long, Task> tasks = existingTasks(operations);
+        Set<Long> users = existingUsers(operations);
+        PendingWrites writes = new PendingWrites();
+        boolean aborted = false;
+
+        FlushModeType flushMode = entityManager.getFlushMode();
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        try {
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperation operation = operations.get(i);
+                if (aborted) {
+                    results.add(OperationResult.skipped(i, operation.getOp()));
+                    continue;
+                }
+                String error = validate(operation, tasks.keySet(), users);
+                if (error != null) {
+                    results.add(OperationResult.failed(i, operation.getOp(), error));
+                    if (mode == Mode.ALL_OR_NOTHING) {
+                        aborted = true;
+                    }
+                    continue;
+                }
+                results.add(apply(i, operation, tasks, writes));
+            }
+            if (!aborted) {
+                write(writes);
+            }
+        } finally {
+            entityManager.setFlushMode(flushMode);
+        }
+
+        if (aborted) {
+            // Nada del lote se confirma; los resultados ya aplicados se marcan como revertidos
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            results.replaceAll(result -> result.isSucceeded() ? OperationResult.rolledBack(result) : result);
+        }
+        return new BatchResult(mode, !aborted, results);
+    }
+
+    // Las tareas quedan en el contexto de persistencia, bloqueadas hasta el
+    // commit, y el lote trabaja sobre esas instancias sin volver a la base de datos
+    private Map<Long, Task> existingTasks(List<BatchOperation> operations) {
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation.getOp() != null && operation.getOp() != OperationType.CREATE)
+                .map(BatchOperation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return entityManager.createQuery("SELECT t FROM Task t WHERE t.id IN :ids ORDER BY t.id", Task.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList().stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private Set<Long> existingUsers(List<BatchOperation> operations) {
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation.getOp() == OperationType.CREATE)
+                .map(BatchOperation::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return userRepository.findAllById(ids).stream().map(User::getId).collect(Collectors.toSet());
+    }
+
+    private String validate(BatchOperation operation, Set<Long> tasks, Set<Long> users) {
+        if (operation.getOp() == null) {
+            return "La operación es obligatoria";
+        }
+        if (operation.getOp() != OperationType.CREATE) {
+            Long id = operation.getId();
+            if (id == null) {
+                return "El ID de la tarea es obligatorio";
+            }
+            if (!tasks.contains(id)) {
+                return "Tarea no encontrada con ID: " + id;
+            }
+        }
+        switch (operation.getOp()) {
+            case CREATE -> {
+                if (operation.getUserId() == null || !users.contains(operation.getUserId())) {
+                    return "Usuario no encontrado con ID: " + operation.getUserId();
+                }
+                return violations(toTask(operation, Task.Status.PENDING, Task.Priority.MEDIUM));
+            }
+            case UPDATE -> {
+                return violations(toTask(operation, null, null));
+            }
+            case STATUS -> {
+                return operation.getStatus() == null ? "El estado es obligatorio" : null;
+            }
+            case PRIORITY -> {
+                return operation.getPriority() == null ? "La prioridad es obligatoria" : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    // Mismos cambios que TaskService sobre la instancia ya cargada; la
+    // escritura queda pendiente hasta el final del lote
+    private OperationResult apply(int index, BatchOperation operation, Map<Long, Task> tasks, PendingWrites writes) {
+        if (operation.getOp() == OperationType.CREATE) {
+            Task created = taskService.createTask(
+                    toTask(operation, Task.Status.PENDING, Task.Priority.MEDIUM), operation.getUserId());
+            return OperationResult.succeeded(index, operation.getOp(), null, created);
+        }
+
+        Task task = tasks.get(operation.getId());
+        Task.Status previousStatus = task.getStatus();
+        Set<Column> columns = EnumSet.noneOf(Column.class);
+        if (taskWriteBehindService.absorb(task)) {
+            // El cambio diferido absorbido también se escribe
+            columns.add(Column.STATUS);
+            columns.add(Column.PRIORITY);
+        }
+        if (operation.getOp() == OperationType.DELETE) {
+            tasks.remove(task.getId());
+            writes.delete(task);
+            taskRepository.delete(task);
+            return OperationResult.succeeded(index, operation.getOp(), operation.getId(), null);
+        }
+
+        switch (operation.getOp()) {
+            case UPDATE -> {
+                task.setTitle(operation.getTitle());
+                task.setDescription(operation.getDescription());
+                task.setStatus(operation.getStatus());
+                task.setPriority(operation.getPriority());
+                task.setDueDate(operation.getDueDate());
+                columns.addAll(EnumSet.allOf(Column.class));
+            }
+            case STATUS -> {
+                task.setStatus(operation.getStatus());
+                columns.add(Column.STATUS);
+            }
+            case PRIORITY -> {
+                task.setPriority(operation.getPriority());
+                columns.add(Column.PRIORITY);
+            }
+            default -> throw new IllegalStateException("Operación no soportada: " + operation.getOp());
+        }
+        task.setUpdatedAt(LocalDateTime.now());
+        writes.update(task, previousStatus, columns);
+        return OperationResult.succeeded(index, operation.getOp(), operation.getId(), task);
+    }
+
+    private void write(PendingWrites writes) {
+        if (!writes.updated.isEmpty()) {
+            // Un batch por combinación de columnas: cada UPDATE solo toca lo que cambió el lote
+            Map<Set<Column>, List<Object[]>> batches = new LinkedHashMap<>();
+            writes.updated.forEach((id, task) -> batches
+                    .computeIfAbsent(writes.columns.get(id), columns -> new ArrayList<>())
+                    .add(row(task, writes.columns.get(id))));
+            batches.forEach((columns, rows) -> jdbcTemplate.batchUpdate(updateSql(columns), rows));
+            // Ya escritas: sin desacoplarlas el commit repetiría cada UPDATE uno a uno
+            writes.updated.values().forEach(entityManager::detach);
+
+            List<Long> taskIds = new ArrayList<>(writes.updated.keySet());
+            List<Long> userIds = taskIds.stream().map(id -> writes.updated.get(id).getUserId()).toList();
+            changeLogService.recordTasks(taskIds, userIds, ChangeLogEntry.Operation.UPDATED);
+        }
+        writes.statusChanges.forEach((userId, byStatus) -> byStatus.forEach((newStatus, previous) ->
+                taskRollupService.recordStatusChanges(userId, previous, newStatus)));
+        changeLogService.recordTasks(writes.deletedIds, writes.deletedUserIds, ChangeLogEntry.Operation.DELETED);
+        writes.users.forEach(dataVersionTracker::bumpAfterCommit);
+    }
+
+    private static String updateSql(Set<Column> columns) {
+        StringJoiner assignments = new StringJoiner(", ", "UPDATE tasks SET ", ", updated_at = ? WHERE id = ?");
+        columns.forEach(column -> assignments.add(column.assignment));
+        return assignments.toString();
+    }
+
+    private static Object[] row(Task task, Set<Column> columns) {
+        List<Object> values = new ArrayList<>();
+        for (Column column : columns) {
+            switch (column) {
+                case TITLE -> values.add(task.getTitle());
+                case DESCRIPTION -> values.add(task.getDescription());
+                case STATUS -> {
+                    values.add(task.getStatus().name());
+                    values.add(task.getCompletedAt());
+                }
+                case PRIORITY -> values.add(task.getPriority().name());
+                case DUE_DATE -> values.add(task.getDueDate());
+            }
+        }
+        values.add(task.getUpdatedAt());
+        values.add(task.getId());
+        return values.toArray();
+    }
+
+    /**
+     * Columnas que puede tocar una operación (el estado arrastra completed_at)
+     */
+    private enum Column {
+        TITLE("title = ?"),
+        DESCRIPTION("description = ?"),
+        STATUS("status = ?, completed_at = ?"),
+        PRIORITY("priority = ?"),
+        DUE_DATE("due_date = ?");
+
+        private final String assignment;
+
+        Column(String assignment) {
+            this.assignment = assignment;
+        }
+    }
+
+    /**
+     * Escrituras acumuladas del lote (las tareas borradas dejan de actualizarse)
+     */
+    private static class PendingWrites {
+        private final Map<Long, Task> updated = new LinkedHashMap<>();
+        private final Map<Long, Set<Column>> columns = new LinkedHashMap<>();
+        private final Map<Long, Map<Task.Status, List<Task.Status>>> statusChanges = new LinkedHashMap<>();
+        private final List<Long> deletedIds = new ArrayList<>();
+        private final List<Long> deletedUserIds = new ArrayList<>();
+        private final Set<Long> users = new LinkedHashSet<>();
+
+        void update(Task task, Task.Status previousStatus, Set<Column> touched) {
+            updated.put(task.getId(), task);
+            columns.computeIfAbsent(task.getId(), id -> EnumSet.noneOf(Column.class)).addAll(touched);
+            users.add(task.getUserId());
+            if (previousStatus != task.getStatus()) {
+                statusChanges.computeIfAbsent(task.getUserId(), id -> new LinkedHashMap<>())
+                        .computeIfAbsent(task.getStatus(), status -> new ArrayList<>())
+                        .add(previousStatus);
+            }
+        }
+
+        void delete(Task task) {
+            updated.remove(task.getId());
+            columns.remove(task.getId());
+            deletedIds.add(task.getId());
+            deletedUserIds.add(task.getUserId());
+            users.add(task.getUserId());
+        }
+    }
+
+    private Task toTask(BatchOperation operation, Task.Status defaultStatus, Task.Priority defaultPriority) {
+        Task task = new Task(operation.getTitle(), operation.getDescription(),
+                operation.getPriority() != null ? operation.getPriority() : defaultPriority,
+                operation.getDueDate());
+        task.setStatus(operation.getStatus() != null ? operation.getStatus() : defaultStatus);
+        return task;
+    }
+
+    private String violations(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Modo de ejecución del lote
+     */
+    public enum Mode {
+        ALL_OR_NOTHING,
+        CONTINUE_ON_ERROR
+    }
+
+    /**
+     * Tipo de operación
+     */
+    public enum OperationType {
+        CREATE,
+        UPDATE,
+        STATUS,
+        PRIORITY,
+        DELETE
+    }
+
+    /**
+     * Request del lote
+     */
+    public static class BatchRequest {
+        private Mode mode;
+        private List<BatchOperation> operations;
+
+        // Getters y Setters
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+
+        public List<BatchOperation> getOperations() { return operations; }
+        public void setOperations(List<BatchOperation> operations) { this.operations = operations; }
+    }
+
+    /**
+     * Operación individual (los campos usados dependen de op)
+     */
+    public static class BatchOperation {
+        private OperationType op;
+        private Long id;
+        private String title;
+        private String description;
+        private Task.Status status;
+        private Task.Priority priority;
+        private LocalDateTime dueDate;
+        private Long userId;
+
+        // Getters y Setters
+        public OperationType getOp() { return op; }
+        public void setOp(OperationType op) { this.op = op; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public Task.Status getStatus() { return status; }
+        public void setStatus(Task.Status status) { this.status = status; }
+
+        public Task.Priority getPriority() { return priority; }
+        public void setPriority(Task.Priority priority) { this.priority = priority; }
+
+        public LocalDateTime getDueDate() { return dueDate; }
+        public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+    }
+
+    /**
+     * Resultado del lote
+     */
+    public static class BatchResult {
+        private final Mode mode;
+        private final boolean committed;
+        private final List<OperationResult> results;
+
+        public BatchResult(Mode mode, boolean committed, List<OperationResult> results) {
+            this.mode = mode;
+            this.committed = committed;
+            this.results = results;
+        }
+
+        // Getters
+        public Mode getMode() { return mode; }
+        public boolean isCommitted() { return committed; }
+        public List<OperationResult> getResults() { return results; }
+        public long getSucceeded() { return results.stream().filter(OperationResult::isSucceeded).count(); }
+        public long getFailed() { return results.stream().filter(r -> r.getOutcome() == Outcome.FAILED).count(); }
+    }
+
+    /**
+     * Desenlace de una operación
+     */
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED,
+        ROLLED_BACK
+    }
+
+    /**
+     * Resultado de una operación
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OperationResult {
+        private final int index;
+        private final OperationType op;
+        private final Outcome outcome;
+        private final Long id;
+        private final Task task;
+        private final String error;
+
+        private OperationResult(int index, OperationType op, Outcome outcome, Long id, Task task, String error) {
+            this.index = index;
+            this.op = op;
+            this.outcome = outcome;
+            this.id = id;
+            this.task = task;
+            this.error = error;
+        }
+
+        static OperationResult succeeded(int index, OperationType op, Long id, Task task) {
+            return new OperationResult(index, op, Outcome.SUCCEEDED, task != null ? task.getId() : id, task, null);
+        }
+
+        static OperationResult failed(int index, OperationType op, String error) {
+            return new OperationResult(index, op, Outcome.FAILED, null, null, error);
+        }
+
+        static OperationResult skipped(int index, OperationType op) {
+            return new OperationResult(index, op, Outcome.SKIPPED, null, null, null);
+        }
+
+        static OperationResult rolledBack(OperationResult result) {
+            return new OperationResult(result.index, result.op, Outcome.ROLLED_BACK, result.id, null, null);
+        }
+
+        // Getters
+        public int getIndex() { return index; }
+        public OperationType getOp() { return op; }
+        public Outcome getOutcome() { return outcome; }
+        public Long getId() { return id; }
+        public Task getTask() { return task; }
+        public String getError() { return error; }
+
+        @JsonIgnore
+        public boolean isSucceeded() { return outcome == Outcome.SUCCEEDED; }
+    }
+}
@@ -0,0 +1,286 @@
+package com.taskmanager.service;
+
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de actualizaciones masivas de tareas
+ * Cada operación es un único UPDATE por conjunto (sin cargar entidades).
+ * Antes del UPDATE se bloquean y leen las filas afectadas (id, usuario,
+ * estado) con el mismo filtro, para registrar el cambio en el log, los
+ * agregados diarios y las versiones por usuario igual que las escrituras
+ * individuales.
+ *
+ * @author Andre
+ */
+@Service
+@Transactional
+public class TaskBulkUpdateService {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private DataVersionTracker dataVersionTracker;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    @Value("${app.bulk.max-ids:1000}")
+    private int maxIds;
+
+    /**
+     * Cambiar el estado de varias tareas (por lista de IDs o por filtro)
+     * Las tareas que ya tienen el estado indicado no se modifican.
+     * completedAt sigue la misma regla que Task.setStatus: se fija al
+     * completar (si no tenía) y se limpia en cualquier otro estado.
+     *
+     * @param request estado nuevo y tareas a modificar
+     * @return BulkUpdateResult cantidad de tareas modificadas (total y por usuario)
+     * @throws IllegalArgumentException si la petición no es válida
+     */
+    public BulkUpdateResult changeStatus(BulkStatusRequest request) {
+        Task.Status status = request.getStatus();
+        if (status == null) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+        boolean byIds = request.getIds() != null;
+        if (byIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Indique las tareas por 'ids' o por 'filter', no ambos");
+        }
+        if (byIds && (request.getIds().isEmpty() || request.getIds().size() > maxIds)) {
+            throw new IllegalArgumentException("La lista de IDs debe tener entre 1 y " + maxIds + " elementos");
+        }
+        if (!byIds && request.getFilter().hasNoCriteria()) {
+            throw new IllegalArgumentException("El filtro debe tener al menos un criterio");
+        }
+
+        // Los cambios diferidos se escriben antes (en esta transacción) para
+        // que el filtro vea el estado actual y no pisen el cambio masivo
+        taskWriteBehindService.flush();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Filas afectadas, bloqueadas hasta el commit
+        CriteriaQuery<Tuple> select = cb.createTupleQuery();
+        Root<Task> selectRoot = select.from(Task.class);
+        select.multiselect(selectRoot.get("id"), selectRoot.get("user").get("id"), selectRoot.get("status"))
+                .where(statusPredicate(request, selectRoot, cb))
+                .orderBy(cb.asc(selectRoot.get("id")));
+        List<Tuple> rows = entityManager.createQuery(select)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return new BulkUpdateResult(0, Map.of());
+        }
+
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> updateRoot = update.from(Task.class);
+        update.set(updateRoot.<Task.Status>get("status"), status);
+        update.set(updateRoot.<LocalDateTime>get("updatedAt"), now);
+        if (status == Task.Status.COMPLETED) {
+            update.set(updateRoot.<LocalDateTime>get("completedAt"),
+                    cb.coalesce(updateRoot.<LocalDateTime>get("completedAt"), now));
+        } else {
+            update.set(updateRoot.<LocalDateTime>get("completedAt"), cb.nullLiteral(LocalDateTime.class));
+        }
+        update.where(statusPredicate(request, updateRoot, cb));
+        int affected = entityManager.createQuery(update).executeUpdate();
+
+        List<Long> taskIds = new ArrayList<>(rows.size());
+        List<Long> userIds = new ArrayList<>(rows.size());
+        Map<Long, List<Task.Status>> previousByUser = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            taskIds.add(row.get(0, Long.class));
+            userIds.add(row.get(1, Long.class));
+            previousByUser.computeIfAbsent(row.get(1, Long.class), id -> new ArrayList<>())
+                    .add(row.get(2, Task.Status.class));
+        }
+        previousByUser.forEach((userId, previous) -> taskRollupService.recordStatusChanges(userId, previous, status));
+        changeLogService.recordTasks(taskIds, userIds, ChangeLogEntry.Operation.UPDATED);
+        previousByUser.keySet().forEach(dataVersionTracker::bumpAfterCommit);
+
+        Map<Long, Long> affectedByUser = new LinkedHashMap<>();
+        previousByUser.forEach((userId, previous) -> affectedByUser.put(userId, (long) previous.size()));
+        return new BulkUpdateResult(affected, affectedByUser);
+    }
+
+    /**
+     * Reasignar todas las tareas de un usuario a otro
+     *
+     * @param fromUserId ID del usuario actual
+     * @param toUserId ID del nuevo usuario
+     * @return BulkUpdateResult cantidad de tareas reasignadas
+     * @throws IllegalArgumentException si los usuarios no son válidos
+     */
+    public BulkUpdateResult reassign(Long fromUserId, Long toUserId) {
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalArgumentException("El usuario de origen y el de destino deben ser distintos");
+        }
+        if (!userRepository.existsById(fromUserId)) {
+            throw new RuntimeException("Usuario no encontrado con ID: " + fromUserId);
+        }
+        User target = userRepository.findById(toUserId)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + toUserId));
+        if (!Boolean.TRUE.equals(target.getEnabled())) {
+            throw new IllegalArgumentException("El usuario de destino está deshabilitado");
+        }
+
+        // La reasignación actualiza updated_at: lo pendiente se escribe antes
+        // o el flush lo descartaría por antiguo
+        taskWriteBehindService.flush();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> select = cb.createQuery(Long.class);
+        Root<Task> root = select.from(Task.class);
+        select.select(root.get("id"))
+                .where(cb.equal(root.get("user").get("id"), fromUserId))
+                .orderBy(cb.asc(root.get("id")));
+        List<Long> taskIds = entityManager.createQuery(select)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (taskIds.isEmpty()) {
+            return new BulkUpdateResult(0, Map.of());
+        }
+
+        int affected = taskRepository.reassignTasks(fromUserId, target, LocalDateTime.now());
+
+        // El usuario de origen las ve como eliminadas en su sincronización
+        // (ya no son suyas) y el de destino como modificadas
+        List<Long> changedIds = new ArrayList<>(taskIds.size() * 2);
+        List<Long> ownerIds = new ArrayList<>(taskIds.size() * 2);
+        for (Long taskId : taskIds) {
+            changedIds.add(taskId);
+            ownerIds.add(fromUserId);
+            changedIds.add(taskId);
+            ownerIds.add(toUserId);
+        }
+        changeLogService.recordTasks(changedIds, ownerIds, ChangeLogEntry.Operation.UPDATED);
+        dataVersionTracker.bumpAfterCommit(fromUserId);
+        dataVersionTracker.bumpAfterCommit(toUserId);
+
+        Map<Long, Long> affectedByUser = new LinkedHashMap<>();
+        affectedByUser.put(toUserId, (long) affected);
+        return new BulkUpdateResult(affected, affectedByUser);
+    }
+
+    private Predicate statusPredicate(BulkStatusRequest request, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.notEqual(root.get("status"), request.getStatus()));
+        if (request.getIds() != null) {
+            predicates.add(root.get("id").in(request.getIds()));
+        } else {
+            TaskFilter filter = request.getFilter();
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), filter.getUserId()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (filter.getDueBefore() != null) {
+                predicates.add(cb.lessThan(root.get("dueDate"), filter.getDueBefore()));
+            }
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Request de cambio masivo de estado
+     */
+    public static class BulkStatusRequest {
+        private Task.Status status;
+        private List<Long> ids;
+        private TaskFilter filter;
+
+        // Getters y Setters
+        public Task.Status getStatus() { return status; }
+        public void setStatus(Task.Status status) { this.status = status; }
+
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+
+        public TaskFilter getFilter() { return filter; }
+        public void setFilter(TaskFilter filter) { this.filter = filter; }
+    }
+
+    /**
+     * Filtro de tareas para el cambio masivo (criterios combinados con AND)
+     */
+    public static class TaskFilter {
+        private Long userId;
+        private Task.Status status;
+        private Task.Priority priority;
+        private LocalDateTime dueBefore;
+
+        boolean hasNoCriteria() {
+            return userId == null && status == null && priority == null && dueBefore == null;
+        }
+
+        // Getters y Setters
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+
+        public Task.Status getStatus() { return status; }
+        public void setStatus(Task.Status status) { this.status = status; }
+
+        public Task.Priority getPriority() { return priority; }
+        public void setPriority(Task.Priority priority) { this.priority = priority; }
+
+        public LocalDateTime getDueBefore() { return dueBefore; }
+        public void setDueBefore(LocalDateTime dueBefore) { this.dueBefore = dueBefore; }
+    }
+
+    /**
+     * Resultado de una actualización masiva
+     */
+    public static class BulkUpdateResult {
+        private final int affected;
+        private final Map<Long, Long> affectedByUser;
+
+        public BulkUpdateResult(int affected, Map<Long, Long> affectedByUser) {
+            this.affected = affected;
+            this.affectedByUser = affectedByUser;
+        }
+
+        // Getters
+        public int getAffected() { return affected; }
+        public Map<Long, Long> getAffectedByUser() { return affectedByUser; }
+    }
+}
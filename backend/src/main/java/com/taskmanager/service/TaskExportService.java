@@ -0,0 +1,167 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de exportación de tareas
+ * Recorre las tareas con un cursor y escribe cada fila directamente en la
+ * salida, quitándola del contexto de persistencia: la memoria usada no
+ * depende del tamaño de la tabla.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,dueDate,createdAt,updatedAt,userId";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Exportar tareas en el formato indicado
+     *
+     * @param format formato de salida
+     * @param userId ID del usuario (null = todas las tareas)
+     * @param out flujo de salida (no se cierra)
+     * @return long cantidad de tareas exportadas
+     * @throws IOException si falla la escritura
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, Long userId, OutputStream out) throws IOException {
+        try (Stream<Task> tasks = taskRepository.streamForExport(userId)) {
+            return format == Format.CSV
+                    ? writeCsv(tasks.iterator(), out)
+                    : writeNdjson(tasks.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Una tarea por línea, sin el espacio que Jackson pone entre valores raíz
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                Task task = tasks.next();
+                objectMapper.writeValue(generator, task);
+                generator.writeRaw('\n');
+                entityManager.detach(task);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csv(task.getTitle()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(task.getStatus() != null ? task.getStatus().name() : "");
+            writer.write(',');
+            writer.write(task.getPriority() != null ? task.getPriority().name() : "");
+            writer.write(',');
+            writer.write(date(task.getDueDate()));
+            writer.write(',');
+            writer.write(date(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(date(task.getUpdatedAt()));
+            writer.write(',');
+            writer.write(task.getUserId() != null ? task.getUserId().toString() : "");
+            writer.write('\n');
+            entityManager.detach(task);
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String date(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Escapar un valor CSV (RFC 4180)
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Formatos de exportación
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        /**
+         * Obtener el formato a partir de su nombre
+         *
+         * @param value nombre del formato (ndjson o csv)
+         * @return Format formato
+         * @throws IllegalArgumentException si el formato no es válido
+         */
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportación no válido: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,651 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.ImportJob;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.ImportJobRepository;
+import com.taskmanager.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio de importación masiva de tareas (CSV o NDJSON)
+ * El cuerpo se vuelca a disco sin cargarlo en memoria y se procesa en segundo
+ * plano fila a fila: las filas válidas se insertan por bloques con un batch
+ * JDBC y cada bloque se confirma junto con el avance del trabajo, de modo que
+ * un fallo se reanuda desde el último bloque confirmado.
+ *
+ * Una importación fallida conserva su archivo durante failed-retention para
+ * poder reanudarla; pasado ese plazo (o si el fallo no tiene remedio) el
+ * archivo se elimina y el fallo queda como definitivo.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO tasks " +
+            "(title, description, status, priority, due_date, completed_at, created_at, updated_at, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_STORED_ERRORS = 100;
+
+    // Clave que marca una fila que no se pudo leer
+    private static final String INVALID_ROW = "#invalid";
+
+    private final ImportJobRepository importJobRepository;
+
+    private final UserRepository userRepository;
+
+    private final ChangeLogService changeLogService;
+
+    private final TaskRollupService taskRollupService;
+
+    private final DataVersionTracker dataVersionTracker;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor importExecutor;
+
+    private final Path spoolDir;
+
+    private final int defaultChunkSize;
+
+    private final int maxChunkSize;
+
+    private final Duration failedRetention;
+
+    public TaskImportService(ImportJobRepository importJobRepository, UserRepository userRepository,
+                             ChangeLogService changeLogService, TaskRollupService taskRollupService,
+                             DataVersionTracker dataVersionTracker, JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${app.import.spool-dir:${java.io.tmpdir}/taskmanager-import}") Path spoolDir,
+                             @Value("${app.import.chunk-size:1000}") int defaultChunkSize,
+                             @Value("${app.import.max-chunk-size:10000}") int maxChunkSize,
+                             @Value("${app.import.workers:1}") int workers,
+                             @Value("${app.import.queue-capacity:16}") int queueCapacity,
+                             @Value("${app.import.failed-retention:24h}") Duration failedRetention,
+                             @Value("${app.deadline.max-timeout:30s}") Duration transactionTimeout) {
+        this.importJobRepository = importJobRepository;
+        this.userRepository = userRepository;
+        this.changeLogService = changeLogService;
+        this.taskRollupService = taskRollupService;
+        this.dataVersionTracker = dataVersionTracker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Un bloque no puede tardar más que la ventana de asentamiento de la sincronización
+        this.transactionTemplate.setTimeout((int) transactionTimeout.toSeconds());
+        this.spoolDir = spoolDir;
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.failedRetention = failedRetention;
+        this.importExecutor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("task-import-"));
+    }
+
+    /**
+     * Iniciar una importación a partir del cuerpo de la petición
+     *
+     * @param body contenido del archivo (se lee en streaming)
+     * @param format formato del archivo
+     * @param chunkSize filas por bloque confirmado (null = valor por defecto)
+     * @return ImportJob trabajo creado (se procesa en segundo plano)
+     * @throws IllegalArgumentException si el tamaño de bloque no es válido
+     * @throws IOException si no se puede guardar el archivo
+     * @throws RejectedExecutionException si la cola de importaciones está llena
+     */
+    public ImportJob startImport(InputStream body, ImportJob.Format format, Integer chunkSize) throws IOException {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > maxChunkSize) {
+            throw new IllegalArgumentException("El tamaño de bloque debe estar entre 1 y " + maxChunkSize);
+        }
+        String jobId = UUID.randomUUID().toString();
+        Files.createDirectories(spoolDir);
+        Path spool = spoolDir.resolve(jobId + "." + format.name().toLowerCase(Locale.ROOT));
+        ImportJob job;
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+            job = importJobRepository.save(new ImportJob(jobId, format, size, spool.toString()));
+        } catch (IOException | RuntimeException e) {
+            // Subida cortada o sin trabajo registrado: el archivo no lo reclamará nadie
+            deleteSpool(jobId, spool);
+            throw e;
+        }
+        try {
+            submit(job.getId());
+        } catch (RuntimeException e) {
+            // El cliente recibe el error y volverá a subir el archivo
+            discard(jobId, spool);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Reanudar una importación fallida desde el último bloque confirmado
+     *
+     * @param jobId ID del trabajo
+     * @return Optional<ImportJob> trabajo reanudado o vacío si no existe
+     * @throws IllegalStateException si el trabajo no está en estado FAILED o ya no tiene archivo
+     * @throws RejectedExecutionException si la cola de importaciones está llena
+     */
+    public Optional<ImportJob> resume(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.getStatus() != ImportJob.Status.FAILED) {
+            throw new IllegalStateException("Solo se pueden reanudar importaciones fallidas (estado actual: " + job.getStatus() + ")");
+        }
+        if (job.getFinishedAt() != null || !Files.exists(Path.of(job.getSpoolPath()))) {
+            throw new IllegalStateException("El archivo de la importación ya no está disponible");
+        }
+        updateJob(jobId, j -> {
+            j.setStatus(ImportJob.Status.PENDING);
+            j.setLastError(null);
+        });
+        submit(jobId);
+        return importJobRepository.findById(jobId).or(() -> Optional.of(job));
+    }
+
+    /**
+     * Consultar el estado de una importación
+     *
+     * @param jobId ID del trabajo
+     * @return Optional<ImportJob> trabajo encontrado
+     */
+    public Optional<ImportJob> findJob(String jobId) {
+        return importJobRepository.findById(jobId);
+    }
+
+    /**
+     * Reanudar al arrancar las importaciones que quedaron a medias en este nodo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByStatusIn(List.of(ImportJob.Status.PENDING, ImportJob.Status.RUNNING))) {
+            if (Files.exists(Path.of(job.getSpoolPath()))) {
+                log.info("Reanudando importación {} desde la fila {}", job.getId(), job.getProcessedRows());
+                submit(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Eliminar los archivos de las importaciones fallidas que nadie reanudó
+     */
+    @Scheduled(fixedDelayString = "${app.import.cleanup-interval:3600000}")
+    public void purgeFailedSpools() {
+        LocalDateTime before = LocalDateTime.now().minus(failedRetention);
+        for (ImportJob job : importJobRepository.findByStatusAndFinishedAtIsNullAndUpdatedAtBefore(
+                ImportJob.Status.FAILED, before)) {
+            log.info("Importación {} sin reanudar desde {}; se elimina su archivo", job.getId(), job.getUpdatedAt());
+            discard(job.getId(), Path.of(job.getSpoolPath()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private void submit(String jobId) {
+        try {
+            importExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            updateJob(jobId, j -> fail(j, "Cola de importaciones llena"));
+            throw new RejectedExecutionException("Hay demasiadas importaciones en curso", e);
+        }
+    }
+
+    // Fallo definitivo: sin archivo la importación ya no se puede reanudar
+    private void discard(String jobId, Path spool) {
+        deleteSpool(jobId, spool);
+        updateJob(jobId, j -> {
+            if (j.getStatus() == ImportJob.Status.FAILED) {
+                j.setFinishedAt(LocalDateTime.now());
+            }
+        });
+    }
+
+    private static void deleteSpool(String jobId, Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo de la importación {}", jobId, e);
+        }
+    }
+
+    private void run(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        updateJob(jobId, j -> j.setStatus(ImportJob.Status.RUNNING));
+        Path spool = Path.of(job.getSpoolPath());
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            RowReader rows = job.getFormat() == ImportJob.Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            process(job, rows);
+            updateJob(jobId, j -> {
+                j.setStatus(ImportJob.Status.COMPLETED);
+                j.setFinishedAt(LocalDateTime.now());
+            });
+            Files.deleteIfExists(spool);
+            log.info("Importación {} completada", jobId);
+        } catch (NoSuchFileException e) {
+            log.warn("Importación {} fallida: su archivo ya no existe", jobId);
+            updateJob(jobId, j -> {
+                fail(j, "El archivo de la importación ya no está disponible");
+                j.setFinishedAt(LocalDateTime.now());
+            });
+        } catch (Exception e) {
+            log.warn("Importación {} fallida", jobId, e);
+            updateJob(jobId, j -> fail(j, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+    }
+
+    private void process(ImportJob job, RowReader rows) throws IOException {
+        // Las filas ya confirmadas se leen pero no se vuelven a insertar
+        long skip = job.getProcessedRows();
+        long rowNumber = 0;
+        Set<Long> knownUsers = new HashSet<>();
+        Set<Long> missingUsers = new HashSet<>();
+
+        List<PendingRow> chunk = new ArrayList<>(job.getChunkSize());
+        List<String> errors = new ArrayList<>();
+        int chunkRows = 0;
+
+        Map<String, String> row;
+        while ((row = rows.next()) != null) {
+            rowNumber++;
+            if (rowNumber <= skip) {
+                continue;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Importación interrumpida");
+            }
+            chunkRows++;
+            try {
+                chunk.add(validate(row, knownUsers, missingUsers));
+            } catch (IllegalArgumentException e) {
+                errors.add("Fila " + rowNumber + ": " + e.getMessage());
+            }
+            if (chunkRows == job.getChunkSize()) {
+                commitChunk(job.getId(), chunk, chunkRows, errors);
+                chunk.clear();
+                errors.clear();
+                chunkRows = 0;
+            }
+        }
+        if (chunkRows > 0) {
+            commitChunk(job.getId(), chunk, chunkRows, errors);
+        }
+    }
+
+    private PendingRow validate(Map<String, String> row, Set<Long> knownUsers, Set<Long> missingUsers) {
+        if (row.containsKey(INVALID_ROW)) {
+            throw new IllegalArgumentException(row.get(INVALID_ROW));
+        }
+        String title = row.get("title");
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("El título es obligatorio");
+        }
+        if (title.length() > 200) {
+            throw new IllegalArgumentException("El título no puede exceder 200 caracteres");
+        }
+        String description = blankToNull(row.get("description"));
+        if (description != null && description.length() > 1000) {
+            throw new IllegalArgumentException("La descripción no puede exceder 1000 caracteres");
+        }
+
+        Task task = new Task(title, description,
+                parseEnum(Task.Priority.class, row.get("priority"), Task.Priority.MEDIUM, "Prioridad"),
+                parseDate(row.get("duedate")));
+        task.setStatus(parseEnum(Task.Status.class, row.get("status"), Task.Status.PENDING, "Estado"));
+
+        String rawUserId = blankToNull(row.get("userid"));
+        if (rawUserId == null) {
+            throw new IllegalArgumentException("El usuario es obligatorio");
+        }
+        Long userId;
+        try {
+            userId = Long.valueOf(rawUserId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID de usuario no válido: " + rawUserId);
+        }
+        if (!knownUsers.contains(userId)) {
+            if (missingUsers.contains(userId) || !userRepository.existsById(userId)) {
+                missingUsers.add(userId);
+                throw new IllegalArgumentException("Usuario no encontrado con ID: " + userId);
+            }
+            knownUsers.add(userId);
+        }
+        return new PendingRow(task, userId);
+    }
+
+    private void commitChunk(String jobId, List<PendingRow> chunk, int processed, List<String> errors) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> taskIds = insertTasks(chunk, now);
+            List<Long> userIds = chunk.stream().map(row -> row.userId).toList();
+            changeLogService.recordTasks(taskIds, userIds, ChangeLogEntry.Operation.CREATED);
+
+            Map<Long, List<Task>> byUser = new LinkedHashMap<>();
+            for (PendingRow row : chunk) {
+                byUser.computeIfAbsent(row.userId, id -> new ArrayList<>()).add(row.task);
+            }
+            byUser.forEach((userId, tasks) -> {
+                taskRollupService.recordCreatedBatch(userId, tasks);
+                dataVersionTracker.bumpAfterCommit(userId);
+            });
+
+            importJobRepository.addProgress(jobId, processed, chunk.size(), errors.size(), now);
+            if (!errors.isEmpty()) {
+                importJobRepository.findById(jobId).ifPresent(job -> job.setErrors(appendErrors(job.getErrors(), errors)));
+            }
+        });
+    }
+
+    private List<Long> insertTasks(List<PendingRow> chunk, LocalDateTime now) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingRow row = chunk.get(i);
+                        Task task = row.task;
+                        ps.setString(1, task.getTitle());
+                        ps.setString(2, task.getDescription());
+                        ps.setString(3, task.getStatus().name());
+                        ps.setString(4, task.getPriority().name());
+                        if (task.getDueDate() != null) {
+                            ps.setTimestamp(5, Timestamp.valueOf(task.getDueDate()));
+                        } else {
+                            ps.setNull(5, Types.TIMESTAMP);
+                        }
+                        if (task.getStatus() == Task.Status.COMPLETED) {
+                            ps.setTimestamp(6, timestamp);
+                        } else {
+                            ps.setNull(6, Types.TIMESTAMP);
+                        }
+                        ps.setTimestamp(7, timestamp);
+                        ps.setTimestamp(8, timestamp);
+                        ps.setLong(9, row.userId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private void updateJob(String jobId, Consumer<ImportJob> change) {
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.findById(jobId).ifPresent(job -> {
+            change.accept(job);
+            job.setUpdatedAt(LocalDateTime.now());
+        }));
+    }
+
+    private static void fail(ImportJob job, String message) {
+        job.setStatus(ImportJob.Status.FAILED);
+        job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+    }
+
+    private static String appendErrors(String current, List<String> errors) {
+        List<String> lines = new ArrayList<>();
+        if (current != null && !current.isEmpty()) {
+            lines.addAll(List.of(current.split("\n")));
+        }
+        for (String error : errors) {
+            if (lines.size() >= MAX_STORED_ERRORS) {
+                break;
+            }
+            lines.add(error);
+        }
+        return String.join("\n", lines);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, String field) {
+        String text = blankToNull(value);
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, text.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " no válida: " + text);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        String text = blankToNull(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return text.length() == 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha de vencimiento no válida: " + text);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Fila válida pendiente de insertar
+     */
+    private static final class PendingRow {
+        private final Task task;
+        private final Long userId;
+
+        private PendingRow(Task task, Long userId) {
+            this.task = task;
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Lector incremental de filas (nombres de columna en minúsculas y sin '_')
+     */
+    private interface RowReader {
+        Map<String, String> next() throws IOException;
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Una tarea JSON por línea; las líneas vacías se ignoran
+     */
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, String> row = new HashMap<>();
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (!node.isObject()) {
+                        row.put(INVALID_ROW, "Se esperaba un objeto JSON");
+                    }
+                    node.fields().forEachRemaining(field -> {
+                        if (!field.getValue().isNull()) {
+                            row.put(normalize(field.getKey()), field.getValue().asText());
+                        }
+                    });
+                } catch (JsonProcessingException e) {
+                    row.put(INVALID_ROW, "JSON no válido");
+                }
+                return row;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV con cabecera (RFC 4180: comillas dobles, campos multilínea)
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private List<String> header;
+        private boolean finished;
+
+        private CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> columns = readRecord();
+                if (columns == null) {
+                    return null;
+                }
+                header = columns.stream().map(TaskImportService::normalize).toList();
+            }
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isEmpty());
+
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                row.put(header.get(i), values.get(i));
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            if (finished) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int nextChar = reader.read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (nextChar != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    fields.add(stripCarriageReturn(field));
+                    return fields;
+                } else {
+                    field.append(ch);
+                }
+            }
+            finished = true;
+            if (!any) {
+                return null;
+            }
+            fields.add(stripCarriageReturn(field));
+            return fields;
+        }
+
+        private static String stripCarriageReturn(StringBuilder field) {
+            int length = field.length();
+            return length > 0 && field.charAt(length - 1) == '\r' ? field.substring(0, length - 1) : field.toString();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskmanager.service;
+
+import com.taskmanager.cache.RequestCoalescer;
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.TaskService.TaskSummary;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lecturas calientes de tareas con coalescencia de peticiones
+ * Las llamadas concurrentes idénticas comparten una única consulta.
+ * Este servicio no es transaccional a propósito: solo la llamada líder abre
+ * transacción (y conexión) al entrar en TaskService; las demás esperan sin
+ * ocupar una conexión del pool.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskReadCoalescer {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    /**
+     * Estadísticas de tareas por estado
+     *
+     * @return List<Object[]> estadísticas [estado, cantidad]
+     */
+    public List<Object[]> getTaskStatisticsByStatus() {
+        return requestCoalescer.execute("statisticsByStatus", null, taskService::getTaskStatisticsByStatus);
+    }
+
+    /**
+     * Estadísticas de tareas por prioridad
+     *
+     * @return List<Object[]> estadísticas [prioridad, cantidad]
+     */
+    public List<Object[]> getTaskStatisticsByPriority() {
+        return requestCoalescer.execute("statisticsByPriority", null, taskService::getTaskStatisticsByPriority);
+    }
+
+    /**
+     * Tareas vencidas
+     *
+     * @return List<Task> tareas vencidas
+     */
+    public List<Task> findOverdueTasks() {
+        return requestCoalescer.execute("overdueTasks", null, taskService::findOverdueTasks);
+    }
+
+    /**
+     * Resumen de tareas del usuario
+     *
+     * @param userId ID del usuario
+     * @return TaskSummary resumen de tareas
+     */
+    public TaskSummary getUserTaskSummary(Long userId) {
+        return requestCoalescer.execute("userTaskSummary", userId, () -> taskService.getUserTaskSummary(userId));
+    }
+}
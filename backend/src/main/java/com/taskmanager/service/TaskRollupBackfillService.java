@@ -0,0 +1,174 @@
+package com.taskmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio de relleno de agregados diarios en segundo plano
+ * Cada trabajo recorre el rango día a día y cada día se rellena en su propia
+ * transacción, así que ninguna transacción abarca el rango completo y un
+ * fallo conserva los días ya confirmados (relanzar el rango solo rellena los
+ * pares día/usuario que sigan sin agregado). Los trabajos viven en memoria y
+ * solo se conservan los últimos max-jobs.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskRollupBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRollupBackfillService.class);
+
+    private final TaskRollupService taskRollupService;
+
+    private final ThreadPoolExecutor backfillExecutor;
+
+    private final Map<String, BackfillJob> jobs;
+
+    public TaskRollupBackfillService(TaskRollupService taskRollupService,
+                                     @Value("${app.rollup.backfill.queue-capacity:4}") int queueCapacity,
+                                     @Value("${app.rollup.backfill.max-jobs:100}") int maxJobs) {
+        this.taskRollupService = taskRollupService;
+        this.backfillExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("rollup-backfill-"));
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BackfillJob> eldest) {
+                return size() > maxJobs;
+            }
+        };
+    }
+
+    /**
+     * Iniciar el relleno de un rango de días
+     *
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive, anterior a hoy)
+     * @return BackfillJob trabajo creado (se procesa en segundo plano)
+     * @throws IllegalArgumentException si el rango no es válido
+     * @throws RejectedExecutionException si la cola de rellenos está llena
+     */
+    public BackfillJob startBackfill(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final");
+        }
+        if (!to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Solo se pueden rellenar días anteriores a hoy");
+        }
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), from, to);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        try {
+            backfillExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            throw new RejectedExecutionException("Demasiados rellenos en cola, inténtelo más tarde", e);
+        }
+        return job;
+    }
+
+    /**
+     * Consultar un trabajo de relleno
+     *
+     * @param jobId ID del trabajo
+     * @return Optional<BackfillJob> trabajo o vacío si no existe (o ya se descartó)
+     */
+    public Optional<BackfillJob> findJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private void run(BackfillJob job) {
+        job.start();
+        LocalDate day = job.getFrom();
+        try {
+            while (!day.isAfter(job.getTo())) {
+                job.dayDone(day, taskRollupService.backfill(day, day));
+                day = day.plusDays(1);
+            }
+            job.finish(null);
+            log.info("Relleno {} completado entre {} y {}: {} agregados",
+                    job.getId(), job.getFrom(), job.getTo(), job.getRollups());
+        } catch (RuntimeException e) {
+            job.finish("Error al rellenar el día " + day + ": " + e.getMessage());
+            log.error("Relleno {} fallido en el día {}", job.getId(), day, e);
+        }
+    }
+
+    /**
+     * Trabajo de relleno de agregados
+     */
+    public static class BackfillJob {
+
+        public enum Status {
+            PENDING,
+            RUNNING,
+            COMPLETED,
+            FAILED
+        }
+
+        private final String id;
+        private final LocalDate from;
+        private final LocalDate to;
+        private volatile Status status = Status.PENDING;
+        private volatile LocalDate lastDay;
+        private volatile int rollups;
+        private volatile String lastError;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        BackfillJob(String id, LocalDate from, LocalDate to) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+        }
+
+        void start() {
+            status = Status.RUNNING;
+        }
+
+        void dayDone(LocalDate day, int written) {
+            lastDay = day;
+            rollups += written;
+        }
+
+        void finish(String error) {
+            lastError = error;
+            status = error == null ? Status.COMPLETED : Status.FAILED;
+            finishedAt = LocalDateTime.now();
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+        public Status getStatus() { return status; }
+        public LocalDate getLastDay() { return lastDay; }
+        public int getRollups() { return rollups; }
+        public String getLastError() { return lastError; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+    }
+}
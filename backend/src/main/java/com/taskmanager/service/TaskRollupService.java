@@ -0,0 +1,337 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskDailyRollup;
+import com.taskmanager.repository.TaskDailyRollupRepository;
+import com.taskmanager.repository.TaskRepository;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de agregados diarios de tareas
+ * Mantiene la tabla task_daily_rollup de forma incremental en cada escritura
+ * (dentro de la misma transacción). El recálculo desde la tabla de tareas solo
+ * rellena los pares día/usuario pasados sin agregado (datos anteriores a los
+ * contadores); lo lanza TaskRollupBackfillService en segundo plano.
+ * Las tendencias se sirven desde los agregados, nunca desde la tabla de tareas.
+ *
+ * @author Andre
+ */
+@Service
+@Transactional
+public class TaskRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRollupService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO task_daily_rollup (rollup_date, user_id, created_count, "
+            + "started_count, completed_count, cancelled_count, reopened_count, low_count, medium_count, "
+            + "high_count, urgent_count) VALUES (?, ?, 0, 0, 0, 0, 0, 0, 0, 0, 0)";
+
+    // SQLSTATE de violación de clave única
+    private static final String DUPLICATE_KEY_STATE = "23505";
+
+    @Autowired
+    private TaskDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    /**
+     * Registrar la creación de una tarea
+     *
+     * @param task tarea recién creada
+     */
+    public void recordCreated(Task task) {
+        Long userId = task.getUserId();
+        if (userId == null) {
+            return;
+        }
+        TaskDailyRollup rollup = getOrCreate(LocalDate.now(), userId);
+        rollup.addCreated(task.getPriority(), 1);
+        applyTransition(rollup, null, task.getStatus());
+        rollupRepository.save(rollup);
+    }
+
+    /**
+     * Registrar la creación de varias tareas de un mismo usuario (importación)
+     *
+     * @param userId ID del usuario propietario
+     * @param tasks tareas creadas
+     */
+    public void recordCreatedBatch(Long userId, List<Task> tasks) {
+        if (userId == null || tasks.isEmpty()) {
+            return;
+        }
+        TaskDailyRollup rollup = getOrCreate(LocalDate.now(), userId);
+        for (Task task : tasks) {
+            rollup.addCreated(task.getPriority(), 1);
+            applyTransition(rollup, null, task.getStatus());
+        }
+        rollupRepository.save(rollup);
+    }
+
+    /**
+     * Registrar un cambio de estado de una tarea
+     *
+     * @param userId ID del usuario propietario
+     * @param oldStatus estado anterior
+     * @param newStatus estado nuevo
+     */
+    public void recordStatusChange(Long userId, Task.Status oldStatus, Task.Status newStatus) {
+        if (userId == null || oldStatus == newStatus) {
+            return;
+        }
+        TaskDailyRollup rollup = getOrCreate(LocalDate.now(), userId);
+        applyTransition(rollup, oldStatus, newStatus);
+        rollupRepository.save(rollup);
+    }
+
+    /**
+     * Registrar el mismo cambio de estado sobre varias tareas de un usuario
+     * (cambio masivo de estado)
+     *
+     * @param userId ID del usuario propietario
+     * @param oldStatuses estados anteriores de cada tarea
+     * @param newStatus estado nuevo
+     */
+    public void recordStatusChanges(Long userId, List<Task.Status> oldStatuses, Task.Status newStatus) {
+        if (userId == null || oldStatuses.isEmpty()) {
+            return;
+        }
+        TaskDailyRollup rollup = getOrCreate(LocalDate.now(), userId);
+        for (Task.Status oldStatus : oldStatuses) {
+            if (oldStatus != newStatus) {
+                applyTransition(rollup, oldStatus, newStatus);
+            }
+        }
+        rollupRepository.save(rollup);
+    }
+
+    /**
+     * Rellenar los agregados de días pasados a partir de la tabla de tareas
+     * (p. ej. datos anteriores a los contadores), solo para los pares
+     * día/usuario que no tienen ninguno.
+     * Es una aproximación: las tareas en progreso y canceladas se cuentan por
+     * su fecha de última modificación y las reaperturas quedan en cero, así
+     * que los agregados incrementales no se tocan.
+     *
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive, anterior a hoy)
+     * @return int cantidad de agregados escritos
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final");
+        }
+        if (!to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Solo se pueden rellenar días anteriores a hoy");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Set<String> tracked = rollupRepository.findRollupKeysBetween(from, to).stream()
+                .map(row -> key((LocalDate) row[0], (Long) row[1]))
+                .collect(Collectors.toSet());
+
+        Map<String, TaskDailyRollup> rollups = new HashMap<>();
+        for (Object[] row : untracked(taskRepository.countCreatedByDayAndUser(start, end), tracked)) {
+            rollupFor(rollups, row).addCreated((Task.Priority) row[2], (Long) row[3]);
+        }
+        for (Object[] row : untracked(taskRepository.countCompletedByDayAndUser(start, end), tracked)) {
+            TaskDailyRollup rollup = rollupFor(rollups, row);
+            rollup.setCompletedCount(rollup.getCompletedCount() + (Long) row[2]);
+        }
+        List<Object[]> started = taskRepository.countStatusByUpdatedDayAndUser(Task.Status.IN_PROGRESS, start, end);
+        for (Object[] row : untracked(started, tracked)) {
+            TaskDailyRollup rollup = rollupFor(rollups, row);
+            rollup.setStartedCount(rollup.getStartedCount() + (Long) row[2]);
+        }
+        List<Object[]> cancelled = taskRepository.countStatusByUpdatedDayAndUser(Task.Status.CANCELLED, start, end);
+        for (Object[] row : untracked(cancelled, tracked)) {
+            TaskDailyRollup rollup = rollupFor(rollups, row);
+            rollup.setCancelledCount(rollup.getCancelledCount() + (Long) row[2]);
+        }
+
+        rollupRepository.saveAll(rollups.values());
+        log.info("Agregados diarios rellenados entre {} y {}: {} filas ({} ya existían)",
+                from, to, rollups.size(), tracked.size());
+        return rollups.size();
+    }
+
+    /**
+     * Obtener la tendencia de tareas agrupada por periodo
+     *
+     * @param from día inicial (inclusive)
+     * @param to día final (inclusive)
+     * @param granularity granularidad del periodo
+     * @param userId ID del usuario (opcional, null para todos)
+     * @return List<TrendPoint> puntos de la tendencia ordenados por periodo
+     */
+    @Transactional(readOnly = true)
+    public List<TrendPoint> getTrends(LocalDate from, LocalDate to, Granularity granularity, Long userId) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final");
+        }
+        List<TaskDailyRollup> rollups = userId != null
+                ? rollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, from, to)
+                : rollupRepository.findByRollupDateBetweenOrderByRollupDateAsc(from, to);
+
+        Map<LocalDate, TrendPoint> points = new TreeMap<>();
+        for (TaskDailyRollup rollup : rollups) {
+            LocalDate period = granularity.periodStart(rollup.getRollupDate());
+            points.computeIfAbsent(period, TrendPoint::new).add(rollup);
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    // El bloqueo de la consulta no cubre una fila que aún no existe: la
+    // primera escritura del día la inserta en la misma transacción (si otra
+    // se adelantó no hace nada) y después se lee bloqueada
+    private TaskDailyRollup getOrCreate(LocalDate day, Long userId) {
+        return rollupRepository.findByRollupDateAndUserId(day, userId)
+                .orElseGet(() -> {
+                    insertIfAbsent(day, userId);
+                    return rollupRepository.findByRollupDateAndUserId(day, userId)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Agregado no encontrado tras insertarlo: " + day + " / " + userId));
+                });
+    }
+
+    // MySQL: upsert que no hace nada si la fila existe. H2 no admite ON
+    // DUPLICATE KEY fuera del modo MySQL y su MERGE también falla con la
+    // clave única si otra transacción inserta a la vez: el INSERT va en un
+    // savepoint JDBC de la conexión de la transacción actual y el duplicado
+    // solo deshace ese savepoint
+    private void insertIfAbsent(LocalDate day, Long userId) {
+        if (datasourceUrl.startsWith("jdbc:mysql:")) {
+            jdbcTemplate.update(INSERT_SQL + " ON DUPLICATE KEY UPDATE user_id = user_id", day, userId);
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setObject(1, day);
+                insert.setLong(2, userId);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                if (!DUPLICATE_KEY_STATE.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                log.debug("Agregado {} / {} creado por otra transacción", day, userId);
+            }
+            return null;
+        });
+    }
+
+    private TaskDailyRollup rollupFor(Map<String, TaskDailyRollup> rollups, Object[] row) {
+        LocalDate day = (LocalDate) row[0];
+        Long userId = (Long) row[1];
+        return rollups.computeIfAbsent(key(day, userId), key -> new TaskDailyRollup(day, userId));
+    }
+
+    private static String key(LocalDate day, Long userId) {
+        return day + ":" + userId;
+    }
+
+    // Filas de pares día/usuario sin agregado (las dos primeras columnas)
+    private static List<Object[]> untracked(List<Object[]> rows, Set<String> tracked) {
+        return rows.stream().filter(row -> !tracked.contains(key((LocalDate) row[0], (Long) row[1]))).toList();
+    }
+
+    private void applyTransition(TaskDailyRollup rollup, Task.Status oldStatus, Task.Status newStatus) {
+        if (oldStatus == Task.Status.COMPLETED && newStatus != Task.Status.COMPLETED) {
+            rollup.setReopenedCount(rollup.getReopenedCount() + 1);
+        }
+        if (newStatus == null) {
+            return;
+        }
+        switch (newStatus) {
+            case IN_PROGRESS -> rollup.setStartedCount(rollup.getStartedCount() + 1);
+            case COMPLETED -> rollup.setCompletedCount(rollup.getCompletedCount() + 1);
+            case CANCELLED -> rollup.setCancelledCount(rollup.getCancelledCount() + 1);
+            default -> { }
+        }
+    }
+
+    /**
+     * Granularidad de las tendencias
+     */
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public LocalDate periodStart(LocalDate day) {
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+    }
+
+    /**
+     * Clase interna para un punto de la tendencia
+     */
+    public static class TrendPoint {
+        private final LocalDate period;
+        private long created;
+        private long started;
+        private long completed;
+        private long cancelled;
+        private long reopened;
+        private final Map<Task.Priority, Long> priorityMix = new HashMap<>();
+
+        public TrendPoint(LocalDate period) {
+            this.period = period;
+        }
+
+        void add(TaskDailyRollup rollup) {
+            created += rollup.getCreatedCount();
+            started += rollup.getStartedCount();
+            completed += rollup.getCompletedCount();
+            cancelled += rollup.getCancelledCount();
+            reopened += rollup.getReopenedCount();
+            priorityMix.merge(Task.Priority.LOW, rollup.getLowCount(), Long::sum);
+            priorityMix.merge(Task.Priority.MEDIUM, rollup.getMediumCount(), Long::sum);
+            priorityMix.merge(Task.Priority.HIGH, rollup.getHighCount(), Long::sum);
+            priorityMix.merge(Task.Priority.URGENT, rollup.getUrgentCount(), Long::sum);
+        }
+
+        // Getters
+        public LocalDate getPeriod() { return period; }
+        public long getCreated() { return created; }
+        public long getStarted() { return started; }
+        public long getCompleted() { return completed; }
+        public long getCancelled() { return cancelled; }
+        public long getReopened() { return reopened; }
+        public Map<Task.Priority, Long> getPriorityMix() { return priorityMix; }
+    }
+}
@@ -1,13 +1,28 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +42,30 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private DataVersionTracker dataVersionTracker;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private JsonMergePatcher jsonMergePatcher;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    // Campos que PATCH /api/tasks/{id} puede modificar
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "status", "priority", "dueDate");
+
+    @Value("${app.multi-get.max-ids:500}")
+    private int multiGetMaxIds;
+
+    @Value("${app.multi-get.chunk-size:100}")
+    private int multiGetChunkSize;
+
     /**
      * Crear una nueva tarea
      * 
@@ -52,7 +91,11 @@ public class TaskService {
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskRollupService.recordCreated(savedTask);
+        changeLogService.recordTask(savedTask.getId(), userId, ChangeLogEntry.Operation.CREATED);
+        dataVersionTracker.bumpAfterCommit(userId);
+        return savedTask;
     }
 
     /**
@@ -63,7 +106,34 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Optional<Task> findById(Long id) {
-        return taskRepository.findById(id);
+        return taskRepository.findById(id).map(taskWriteBehindService::overlay);
+    }
+
+    /**
+     * Buscar varias tareas por ID con consultas IN por bloques
+     * 
+     * @param ids IDs solicitados (pueden repetirse)
+     * @return List<TaskLookup> un resultado por ID, en el orden solicitado
+     * @throws IllegalArgumentException si se supera el máximo de IDs
+     */
+    @Transactional(readOnly = true)
+    public List<TaskLookup> findByIds(List<Long> ids) {
+        if (ids.size() > multiGetMaxIds) {
+            throw new IllegalArgumentException("Se permiten como máximo " + multiGetMaxIds + " IDs por petición");
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Task> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += multiGetChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + multiGetChunkSize, distinctIds.size()));
+            for (Task task : taskRepository.findAllById(chunk)) {
+                found.put(task.getId(), taskWriteBehindService.overlay(task));
+            }
+        }
+        List<TaskLookup> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(new TaskLookup(id, found.get(id)));
+        }
+        return results;
     }
 
     /**
@@ -73,7 +143,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> findAll() {
-        return taskRepository.findAll();
+        return withPendingChanges(taskRepository.findAll());
     }
 
     /**
@@ -84,7 +154,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> findByUserId(Long userId) {
-        return taskRepository.findByUserId(userId);
+        return withPendingChanges(taskRepository.findByUserId(userId));
     }
 
     /**
@@ -308,6 +378,9 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
 
+        Task.Status previousStatus = task.getStatus();
+        taskWriteBehindService.absorb(task);
+
         // Actualizar campos
         task.setTitle(taskDetails.getTitle());
         task.setDescription(taskDetails.getDescription());
@@ -316,6 +389,37 @@ public class TaskService {
         task.setDueDate(taskDetails.getDueDate());
         task.setUpdatedAt(LocalDateTime.now());
 
+        taskRollupService.recordStatusChange(task.getUserId(), previousStatus, task.getStatus());
+        changeLogService.recordTask(task.getId(), task.getUserId(), ChangeLogEntry.Operation.UPDATED);
+        dataVersionTracker.bumpAfterCommit(task.getUserId());
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Actualizar parcialmente una tarea (JSON Merge Patch)
+     * Solo cambian los campos presentes en el patch; si ninguno cambia de
+     * valor no se escribe nada.
+     * 
+     * @param id ID de la tarea
+     * @param patch campos a modificar (null borra el valor)
+     * @return Task tarea actualizada
+     * @throws IllegalArgumentException si el patch no es válido
+     * @throws RuntimeException si la tarea no existe
+     */
+    public Task patchTask(Long id, JsonNode patch) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
+
+        Task.Status previousStatus = task.getStatus();
+        boolean absorbed = taskWriteBehindService.absorb(task);
+        if (!jsonMergePatcher.apply(task, patch, PATCHABLE_FIELDS) && !absorbed) {
+            return task;
+        }
+        task.setUpdatedAt(LocalDateTime.now());
+
+        taskRollupService.recordStatusChange(task.getUserId(), previousStatus, task.getStatus());
+        changeLogService.recordTask(task.getId(), task.getUserId(), ChangeLogEntry.Operation.UPDATED);
+        dataVersionTracker.bumpAfterCommit(task.getUserId());
         return taskRepository.save(task);
     }
 
@@ -330,9 +434,14 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
 
+        Task.Status previousStatus = task.getStatus();
+        taskWriteBehindService.absorb(task);
         task.setStatus(status);
         task.setUpdatedAt(LocalDateTime.now());
 
+        taskRollupService.recordStatusChange(task.getUserId(), previousStatus, status);
+        changeLogService.recordTask(task.getId(), task.getUserId(), ChangeLogEntry.Operation.UPDATED);
+        dataVersionTracker.bumpAfterCommit(task.getUserId());
         return taskRepository.save(task);
     }
 
@@ -357,12 +466,63 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
 
+        Task.Status previousStatus = task.getStatus();
+        taskWriteBehindService.absorb(task);
         task.setPriority(priority);
         task.setUpdatedAt(LocalDateTime.now());
 
+        taskRollupService.recordStatusChange(task.getUserId(), previousStatus, task.getStatus());
+        changeLogService.recordTask(task.getId(), task.getUserId(), ChangeLogEntry.Operation.UPDATED);
+        dataVersionTracker.bumpAfterCommit(task.getUserId());
         return taskRepository.save(task);
     }
 
+    /**
+     * Comprobar si los cambios de estado y prioridad se escriben en diferido
+     * 
+     * @return boolean true con app.write-behind.enabled
+     */
+    public boolean isWriteBehindEnabled() {
+        return taskWriteBehindService.isEnabled();
+    }
+
+    /**
+     * Cambiar estado de tarea en diferido (write-behind)
+     * El cambio queda en el journal y se escribe en el siguiente flush.
+     * 
+     * @param id ID de la tarea
+     * @param status nuevo estado
+     * @return Task tarea con el cambio aplicado (aún sin escribir)
+     * @throws RuntimeException si la tarea no existe
+     */
+    @Transactional(readOnly = true)
+    public Task queueStatusChange(Long id, Task.Status status) {
+        if (status == null) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
+        return taskWriteBehindService.queue(task, status, null);
+    }
+
+    /**
+     * Cambiar prioridad de tarea en diferido (write-behind)
+     * 
+     * @param id ID de la tarea
+     * @param priority nueva prioridad
+     * @return Task tarea con el cambio aplicado (aún sin escribir)
+     * @throws RuntimeException si la tarea no existe
+     */
+    @Transactional(readOnly = true)
+    public Task queuePriorityChange(Long id, Task.Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("La prioridad es obligatoria");
+        }
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
+        return taskWriteBehindService.queue(task, null, priority);
+    }
+
     /**
      * Eliminar tarea
      * 
@@ -370,10 +530,14 @@ public class TaskService {
      * @throws RuntimeException si la tarea no existe
      */
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Tarea no encontrada con ID: " + id);
-        }
-        taskRepository.deleteById(id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarea no encontrada con ID: " + id));
+
+        // El cambio pendiente se descarta con la tarea
+        taskWriteBehindService.absorb(task);
+        changeLogService.recordTask(task.getId(), task.getUserId(), ChangeLogEntry.Operation.DELETED);
+        dataVersionTracker.bumpAfterCommit(task.getUserId());
+        taskRepository.delete(task);
     }
 
     /**
@@ -465,6 +629,77 @@ public class TaskService {
         return new TaskSummary(totalTasks, completedTasks, pendingTasks, inProgressTasks, overdueTasks);
     }
 
+    /**
+     * Obtener el resumen de tareas de todos los usuarios
+     * (una consulta agrupada en lugar de cinco por usuario)
+     * 
+     * @return Map<Long, TaskSummary> resumen por ID de usuario (solo usuarios con tareas)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, TaskSummary> getTaskSummariesByUser() {
+        Map<Long, long[]> counters = new LinkedHashMap<>();
+        for (Object[] row : taskRepository.countByUserAndStatus(LocalDateTime.now())) {
+            long[] counts = counters.computeIfAbsent((Long) row[0], id -> new long[5]);
+            long count = ((Number) row[2]).longValue();
+            counts[0] += count;
+            switch ((Task.Status) row[1]) {
+                case COMPLETED -> counts[1] += count;
+                case PENDING -> counts[2] += count;
+                case IN_PROGRESS -> counts[3] += count;
+                default -> { }
+            }
+            counts[4] += row[3] != null ? ((Number) row[3]).longValue() : 0;
+        }
+        Map<Long, TaskSummary> summaries = new LinkedHashMap<>();
+        counters.forEach((userId, counts) -> summaries.put(userId,
+                new TaskSummary(counts[0], counts[1], counts[2], counts[3], counts[4])));
+        return summaries;
+    }
+
+    /**
+     * Obtener una página de tareas ordenadas por ID
+     * 
+     * @param page número de página (desde 0)
+     * @param size tamaño de página
+     * @return Page<Task> página de tareas
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> findPage(int page, int size) {
+        Page<Task> tasks = taskRepository.findAll(PageRequest.of(page, size, Sort.by("id")));
+        withPendingChanges(tasks.getContent());
+        return tasks;
+    }
+
+    // Las lecturas muestran los cambios de estado/prioridad aún no escritos
+    // (en una transacción de solo lectura no se guardan)
+    private List<Task> withPendingChanges(List<Task> tasks) {
+        if (taskWriteBehindService.isEnabled()) {
+            tasks.forEach(taskWriteBehindService::overlay);
+        }
+        return tasks;
+    }
+
+    /**
+     * Clase interna para el resultado de una búsqueda múltiple
+     * (task ausente y found=false si el ID no existe)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"id", "found", "task"})
+    public static class TaskLookup {
+        private final Long id;
+        private final Task task;
+
+        public TaskLookup(Long id, Task task) {
+            this.id = id;
+            this.task = task;
+        }
+
+        // Getters
+        public Long getId() { return id; }
+        public boolean isFound() { return task != null; }
+        public Task getTask() { return task; }
+    }
+
     /**
      * Clase interna para resumen de tareas
      */
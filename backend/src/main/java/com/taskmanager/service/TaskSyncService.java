@@ -0,0 +1,164 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.repository.ChangeLogWatermarkRepository;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de sincronización incremental de tareas
+ * Devuelve lo cambiado desde un cursor (número de secuencia de change_log):
+ * tareas creadas/actualizadas y tombstones de las eliminadas.
+ *
+ * El cursor solo avanza sobre cambios más antiguos que settle-window; los más
+ * recientes se entregan igualmente y se repiten en la siguiente llamada, para
+ * no saltarse secuencias menores cuya transacción aún no había confirmado.
+ * created_at es el momento del INSERT, no del commit, así que la ventana no
+ * puede ser menor que la transacción más larga (app.deadline.max-timeout).
+ *
+ * Las tareas devueltas muestran los cambios pendientes de la escritura
+ * diferida. Un cambio pendiente todavía no tiene entrada en change_log: la
+ * tarea llega con la siguiente modificación registrada o con el volcado.
+ *
+ * @author Andre
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskSyncService {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeLogWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    @Value("${app.sync.settle-window:35s}")
+    private Duration settleWindow;
+
+    @Value("${app.sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${app.deadline.max-timeout:30s}")
+    private Duration maxTransactionTimeout;
+
+    @PostConstruct
+    void checkSettleWindow() {
+        if (settleWindow.compareTo(maxTransactionTimeout) < 0) {
+            throw new IllegalStateException("app.sync.settle-window (" + settleWindow
+                    + ") no puede ser menor que app.deadline.max-timeout (" + maxTransactionTimeout + ")");
+        }
+    }
+
+    /**
+     * Obtener los cambios de tareas de un usuario desde un cursor
+     *
+     * @param userId ID del usuario
+     * @param since cursor recibido en la sincronización anterior (null = sincronización completa)
+     * @param limit máximo de cambios a leer del registro
+     * @return TaskChanges tareas cambiadas, tombstones y siguiente cursor
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     * @throws IllegalStateException si el cursor es anterior a la retención del registro
+     */
+    public TaskChanges getChangesSince(Long userId, Long since, int limit) {
+        if (limit < 1 || limit > maxChanges) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxChanges);
+        }
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settleWindow);
+
+        if (since == null) {
+            // Sincronización completa: el cursor se fija antes de leer las tareas
+            Long settled = changeLogRepository.findMaxIdCreatedBefore(settledBefore);
+            List<Task> tasks = taskRepository.findByUserId(userId);
+            tasks.forEach(taskWriteBehindService::overlay);
+            return new TaskChanges(tasks, List.of(), settled != null ? settled : 0L, false, true);
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("El cursor no es válido: " + since);
+        }
+
+        // Solo la purga por retención invalida un cursor; los huecos del IDENTITY no
+        Long prunedThrough = watermarkRepository.findPrunedThrough();
+        if (prunedThrough != null && since < prunedThrough) {
+            throw new IllegalStateException("El cursor " + since + " ya no está disponible; se requiere sincronización completa");
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findByUserIdAndEntityTypeAndIdGreaterThanOrderByIdAsc(
+                userId, ChangeLogEntry.EntityType.TASK, since, PageRequest.of(0, limit));
+
+        long nextCursor = since;
+        for (ChangeLogEntry entry : entries) {
+            if (!entry.getCreatedAt().isBefore(settledBefore)) {
+                break;
+            }
+            nextCursor = entry.getId();
+        }
+
+        // Varios cambios de la misma tarea se resumen en su estado actual
+        Set<Long> taskIds = entries.stream()
+                .map(ChangeLogEntry::getEntityId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Task> current = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Task> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            Task task = current.get(taskId);
+            if (task != null && userId.equals(task.getUserId())) {
+                changed.add(taskWriteBehindService.overlay(task));
+            } else {
+                deleted.add(taskId);
+            }
+        }
+
+        boolean hasMore = entries.size() == limit && nextCursor == entries.get(entries.size() - 1).getId();
+        return new TaskChanges(changed, deleted, nextCursor, hasMore, false);
+    }
+
+    /**
+     * Clase interna para el resultado de la sincronización
+     */
+    public static class TaskChanges {
+        private final List<Task> changed;
+        private final List<Long> deleted;
+        private final long nextCursor;
+        private final boolean hasMore;
+        private final boolean fullSync;
+
+        public TaskChanges(List<Task> changed, List<Long> deleted, long nextCursor, boolean hasMore, boolean fullSync) {
+            this.changed = changed;
+            this.deleted = deleted;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+            this.fullSync = fullSync;
+        }
+
+        public List<Task> getChanged() { return changed; }
+        public List<Long> getDeleted() { return deleted; }
+        public long getNextCursor() { return nextCursor; }
+        public boolean isHasMore() { return hasMore; }
+        public boolean isFullSync() { return fullSync; }
+    }
+}
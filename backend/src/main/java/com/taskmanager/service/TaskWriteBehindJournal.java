@@ -0,0 +1,157 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Journal local de los cambios de estado y prioridad pendientes de escribir
+ * Cada cambio se añade como una línea y se fuerza a disco antes de confirmar
+ * la petición. El journal se divide en segmentos: al empezar un flush se abre
+ * un segmento nuevo y, cuando el flush confirma, se borran los anteriores.
+ * Al arrancar se releen los segmentos que queden (cambios no escritos).
+ *
+ * Formato de línea: taskId, userId, estado, prioridad y fecha del cambio
+ * separados por tabuladores ("-" = sin cambio).
+ *
+ * @author Andre
+ */
+public class TaskWriteBehindJournal implements Closeable {
+
+    private static final String PREFIX = "write-behind-";
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+
+    private long segment;
+
+    private FileChannel channel;
+
+    public TaskWriteBehindJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.segment = segments().stream().mapToLong(Long::longValue).max().orElse(0) + 1;
+        this.channel = open(segment);
+    }
+
+    /**
+     * Leer los cambios de los segmentos anteriores a la apertura, en orden
+     *
+     * @return List<TaskWriteBehindService.PendingChange> cambios registrados
+     */
+    public synchronized List<TaskWriteBehindService.PendingChange> recover() throws IOException {
+        List<TaskWriteBehindService.PendingChange> changes = new ArrayList<>();
+        for (long previous : segments()) {
+            if (previous >= segment) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path(previous), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Una línea incompleta solo puede ser la última (caída a mitad de escritura)
+                    String[] parts = line.split("\t");
+                    if (parts.length == 5) {
+                        changes.add(parse(parts));
+                    }
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Añadir un cambio y forzarlo a disco
+     *
+     * @param change cambio a registrar
+     */
+    public synchronized void append(TaskWriteBehindService.PendingChange change) {
+        String line = change.getTaskId() + "\t" + change.getUserId() + "\t"
+                + (change.getStatus() != null ? change.getStatus().name() : "-") + "\t"
+                + (change.getPriority() != null ? change.getPriority().name() : "-") + "\t"
+                + change.getChangedAt() + "\n";
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el journal de cambios pendientes", e);
+        }
+    }
+
+    /**
+     * Empezar un segmento nuevo
+     *
+     * @return long número del segmento cerrado
+     */
+    public synchronized long rotate() {
+        try {
+            channel.close();
+            long closed = segment;
+            segment++;
+            channel = open(segment);
+            return closed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo rotar el journal de cambios pendientes", e);
+        }
+    }
+
+    /**
+     * Borrar los segmentos ya escritos en la base de datos
+     *
+     * @param lastSegment último segmento a borrar (incluido)
+     */
+    public synchronized void deleteUpTo(long lastSegment) throws IOException {
+        for (long previous : segments()) {
+            if (previous <= lastSegment && previous != segment) {
+                Files.deleteIfExists(path(previous));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(path(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path path(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static TaskWriteBehindService.PendingChange parse(String[] parts) {
+        return new TaskWriteBehindService.PendingChange(Long.valueOf(parts[0]),
+                "null".equals(parts[1]) ? null : Long.valueOf(parts[1]),
+                "-".equals(parts[2]) ? null : Task.Status.valueOf(parts[2]),
+                "-".equals(parts[3]) ? null : Task.Priority.valueOf(parts[3]),
+                LocalDateTime.parse(parts[4]));
+    }
+}
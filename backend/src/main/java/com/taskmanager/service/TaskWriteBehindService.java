@@ -0,0 +1,462 @@
+package com.taskmanager.service;
+
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Escritura diferida (write-behind) de los cambios de estado y prioridad
+ * El arrastre de tarjetas en un tablero envía varias peticiones por segundo
+ * para la misma tarea. Con app.write-behind.enabled el cambio se registra en
+ * un journal local (forzado a disco) y se confirma sin abrir una transacción
+ * de escritura; los cambios de cada tarea se combinan durante la ventana y se
+ * escriben juntos en un batch JDBC, con el log de cambios, los agregados y
+ * las versiones por usuario igual que las escrituras individuales.
+ *
+ * Las lecturas por ID, por usuario y los listados muestran el valor pendiente,
+ * también con ?fields=, en /api/reactive/tasks y en la sincronización
+ * (/changes). Los filtros por estado o prioridad, las estadísticas y los
+ * agregados usan el valor ya escrito hasta el siguiente volcado.
+ * Una escritura síncrona de la tarea incorpora el cambio pendiente y, al
+ * escribir, gana la más reciente: un cambio más viejo que updated_at se
+ * descarta.
+ *
+ * @author Andre
+ */
+@Service
+public class TaskWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindService.class);
+
+    private static final String METRIC_PREFIX = "taskmanager.write-behind";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET status = ?, priority = ?, completed_at = ?, updated_at = ? WHERE id = ?";
+
+    private static final int SELECT_CHUNK_SIZE = 500;
+
+    private final ConcurrentHashMap<Long, PendingChange> pending = new ConcurrentHashMap<>();
+
+    // Cambios de un flush aún no confirmado (visibles para las lecturas)
+    private final ConcurrentHashMap<Long, PendingChange> flushing = new ConcurrentHashMap<>();
+
+    private final Object journalLock = new Object();
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TaskRollupService taskRollupService;
+
+    private final ChangeLogService changeLogService;
+
+    private final DataVersionTracker dataVersionTracker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final TaskWriteBehindJournal journal;
+
+    public TaskWriteBehindService(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                  TaskRollupService taskRollupService, ChangeLogService changeLogService,
+                                  DataVersionTracker dataVersionTracker, MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${app.write-behind.journal-dir:./data/write-behind}") Path journalDir,
+                                  @Value("${app.deadline.max-timeout:30s}") Duration transactionTimeout)
+            throws IOException {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskRollupService = taskRollupService;
+        this.changeLogService = changeLogService;
+        this.dataVersionTracker = dataVersionTracker;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Un flush no puede tardar más que la ventana de asentamiento de la sincronización
+        this.transactionTemplate.setTimeout((int) transactionTimeout.toSeconds());
+        this.enabled = enabled;
+        this.journal = enabled ? new TaskWriteBehindJournal(journalDir) : null;
+        if (enabled) {
+            // Cambios confirmados antes de una parada sin flush
+            List<PendingChange> recovered = journal.recover();
+            recovered.forEach(change -> pending.merge(change.getTaskId(), change, PendingChange::then));
+            if (!recovered.isEmpty()) {
+                log.info("Recuperados {} cambios pendientes de {} tareas del journal", recovered.size(), pending.size());
+            }
+        }
+        meterRegistry.gauge(METRIC_PREFIX + ".pending", pending, ConcurrentHashMap::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registrar un cambio de estado o prioridad sin escribirlo todavía
+     *
+     * @param task tarea existente (se devuelve con el cambio aplicado, sin guardarla)
+     * @param status nuevo estado (null = sin cambio)
+     * @param priority nueva prioridad (null = sin cambio)
+     * @return Task tarea con los cambios pendientes aplicados
+     * @throws IllegalStateException si la escritura diferida no está habilitada
+     */
+    public Task queue(Task task, Task.Status status, Task.Priority priority) {
+        if (!enabled) {
+            throw new IllegalStateException("Escritura diferida no habilitada (app.write-behind.enabled)");
+        }
+        PendingChange change = new PendingChange(task.getId(), task.getUserId(), status, priority,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        PendingChange merged;
+        synchronized (journalLock) {
+            journal.append(change);
+            merged = pending.merge(task.getId(), change, PendingChange::then);
+        }
+        counter("updates", merged == change ? "queued" : "coalesced").increment();
+        dataVersionTracker.bump(task.getUserId());
+        merged.applyTo(task);
+        return task;
+    }
+
+    /**
+     * Aplicar a una tarea leída el cambio pendiente que tenga
+     *
+     * @param task tarea leída (null se ignora)
+     * @return Task la misma tarea
+     */
+    public Task overlay(Task task) {
+        if (!enabled || task == null) {
+            return task;
+        }
+        PendingChange change = pendingChange(task.getId());
+        if (change != null && !change.isOlderThan(task.getUpdatedAt())) {
+            change.applyTo(task);
+        }
+        return task;
+    }
+
+    /**
+     * Aplicar el cambio pendiente a una fila de una lectura con campos
+     * seleccionados (solo se tocan los campos presentes en la fila)
+     *
+     * @param row fila con al menos id y updatedAt
+     */
+    public void overlay(Map<String, Object> row) {
+        if (!enabled) {
+            return;
+        }
+        PendingChange change = pendingChange((Long) row.get("id"));
+        if (change != null && !change.isOlderThan((LocalDateTime) row.get("updatedAt"))) {
+            change.applyTo(row);
+        }
+    }
+
+    private PendingChange pendingChange(Long taskId) {
+        PendingChange change = pending.get(taskId);
+        return change != null ? change : flushing.get(taskId);
+    }
+
+    /**
+     * Incorporar el cambio pendiente de una tarea a una escritura síncrona
+     * La tarea debe estar cargada en la transacción actual; si esta se revierte,
+     * el cambio vuelve a quedar pendiente.
+     *
+     * @param task tarea que se va a modificar
+     * @return boolean true si había un cambio pendiente y se aplicó
+     */
+    public boolean absorb(Task task) {
+        if (!enabled) {
+            return false;
+        }
+        PendingChange change;
+        synchronized (journalLock) {
+            change = pending.remove(task.getId());
+        }
+        if (change == null) {
+            // En un flush en curso: se incorpora y el flush la descartará por antigua
+            change = flushing.get(task.getId());
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChange absorbed = change;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        requeue(Map.of(absorbed.getTaskId(), absorbed));
+                    }
+                }
+            });
+        }
+        if (change == null) {
+            return false;
+        }
+        change.applyTo(task);
+        return true;
+    }
+
+    /**
+     * Escribir los cambios pendientes en la base de datos
+     * Se une a la transacción actual si la hay (las escrituras masivas escriben
+     * antes lo pendiente para no pisarlo después).
+     *
+     * @return int tareas actualizadas
+     */
+    public synchronized int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        Map<Long, PendingChange> snapshot;
+        long segment;
+        synchronized (journalLock) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            snapshot = new LinkedHashMap<>(pending);
+            pending.clear();
+            flushing.putAll(snapshot);
+            segment = journal.rotate();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completion) {
+                        if (completion == STATUS_COMMITTED) {
+                            deleteJournal(segment);
+                        } else {
+                            requeue(snapshot);
+                        }
+                        snapshot.forEach(flushing::remove);
+                    }
+                });
+                return write(snapshot);
+            });
+        } catch (RuntimeException e) {
+            counter("flushes", "failed").increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Flush periódico (ventana de combinación)
+     */
+    @Scheduled(fixedDelayString = "${app.write-behind.window:500}")
+    public void scheduledFlush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Error al escribir los cambios pendientes, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Cambios pendientes sin escribir al detener; quedan en el journal: {}", e.getMessage());
+        }
+        journal.close();
+    }
+
+    private int write(Map<Long, PendingChange> snapshot) {
+        List<Long> ids = new ArrayList<>(snapshot.keySet());
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        List<Long> taskIds = new ArrayList<>(ids.size());
+        List<Long> userIds = new ArrayList<>(ids.size());
+        Map<Long, Map<Task.Status, List<Task.Status>>> statusChanges = new LinkedHashMap<>();
+        int stale = 0;
+
+        for (int from = 0; from < ids.size(); from += SELECT_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SELECT_CHUNK_SIZE, ids.size()));
+            // Filas bloqueadas hasta el commit; las tareas eliminadas no aparecen
+            List<Tuple> rows = entityManager.createQuery("SELECT t.id, t.user.id, t.status, t.priority, "
+                            + "t.completedAt, t.updatedAt FROM Task t WHERE t.id IN :ids ORDER BY t.id", Tuple.class)
+                    .setParameter("ids", chunk)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            for (Tuple row : rows) {
+                PendingChange change = snapshot.get(row.get(0, Long.class));
+                Task.Status oldStatus = row.get(2, Task.Status.class);
+                Task.Priority oldPriority = row.get(3, Task.Priority.class);
+                if (change.isOlderThan(row.get(5, LocalDateTime.class))) {
+                    stale++;
+                    continue;
+                }
+                Task.Status newStatus = change.getStatus() != null ? change.getStatus() : oldStatus;
+                Task.Priority newPriority = change.getPriority() != null ? change.getPriority() : oldPriority;
+                if (newStatus == oldStatus && newPriority == oldPriority) {
+                    continue;
+                }
+
+                // Misma regla que Task.setStatus para completedAt
+                LocalDateTime completedAt = row.get(4, LocalDateTime.class);
+                if (newStatus != Task.Status.COMPLETED) {
+                    completedAt = null;
+                } else if (completedAt == null) {
+                    completedAt = change.getChangedAt();
+                }
+                updates.add(new Object[] {newStatus.name(), newPriority.name(), completedAt,
+                        change.getChangedAt(), change.getTaskId()});
+
+                Long userId = row.get(1, Long.class);
+                taskIds.add(change.getTaskId());
+                userIds.add(userId);
+                if (newStatus != oldStatus) {
+                    statusChanges.computeIfAbsent(userId, id -> new LinkedHashMap<>())
+                            .computeIfAbsent(newStatus, status -> new ArrayList<>())
+                            .add(oldStatus);
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            statusChanges.forEach((userId, byStatus) -> byStatus.forEach((newStatus, previous) ->
+                    taskRollupService.recordStatusChanges(userId, previous, newStatus)));
+            changeLogService.recordTasks(taskIds, userIds, ChangeLogEntry.Operation.UPDATED);
+            userIds.stream().distinct().forEach(dataVersionTracker::bumpAfterCommit);
+        }
+        counter("flushed", "written").increment(updates.size());
+        counter("flushed", "stale").increment(stale);
+        return updates.size();
+    }
+
+    // Los cambios que no se escribieron vuelven a pendientes; los que llegaron
+    // después tienen prioridad. Se vuelven a registrar en el segmento actual
+    private void requeue(Map<Long, PendingChange> changes) {
+        synchronized (journalLock) {
+            changes.values().forEach(change -> {
+                journal.append(change);
+                pending.merge(change.getTaskId(), change, (newer, older) -> older.then(newer));
+            });
+        }
+    }
+
+    private void deleteJournal(long segment) {
+        try {
+            journal.deleteUpTo(segment);
+        } catch (IOException e) {
+            // Al releerlo, los cambios ya escritos se descartan por antiguos
+            throw new UncheckedIOException("No se pudo borrar el journal ya escrito", e);
+        }
+    }
+
+    private Counter counter(String name, String outcome) {
+        return Counter.builder(METRIC_PREFIX + "." + name)
+                .description("Cambios de estado y prioridad diferidos por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cambio pendiente de una tarea (combinación de los recibidos en la ventana)
+     */
+    public static class PendingChange {
+        private final Long taskId;
+        private final Long userId;
+        private final Task.Status status;
+        private final Task.Priority priority;
+        private final LocalDateTime changedAt;
+
+        public PendingChange(Long taskId, Long userId, Task.Status status, Task.Priority priority,
+                             LocalDateTime changedAt) {
+            this.taskId = taskId;
+            this.userId = userId;
+            this.status = status;
+            this.priority = priority;
+            this.changedAt = changedAt;
+        }
+
+        /**
+         * Combinar con un cambio posterior (los campos del posterior ganan)
+         *
+         * @param next cambio posterior
+         * @return PendingChange cambio combinado
+         */
+        public PendingChange then(PendingChange next) {
+            return new PendingChange(taskId, next.userId != null ? next.userId : userId,
+                    next.status != null ? next.status : status,
+                    next.priority != null ? next.priority : priority,
+                    next.changedAt);
+        }
+
+        boolean isOlderThan(LocalDateTime updatedAt) {
+            return updatedAt != null && updatedAt.isAfter(changedAt);
+        }
+
+        void applyTo(Task task) {
+            if (status != null) {
+                task.setStatus(status);
+            }
+            if (priority != null) {
+                task.setPriority(priority);
+            }
+            task.setUpdatedAt(changedAt);
+        }
+
+        void applyTo(Map<String, Object> row) {
+            if (status != null) {
+                replace(row, "status", status);
+                if (status != Task.Status.COMPLETED) {
+                    replace(row, "completedAt", null);
+                } else if (row.get("completedAt") == null) {
+                    replace(row, "completedAt", changedAt);
+                }
+            }
+            if (priority != null) {
+                replace(row, "priority", priority);
+            }
+            replace(row, "updatedAt", changedAt);
+        }
+
+        // computeIfPresent no sirve: trata un valor null como ausente
+        private static void replace(Map<String, Object> row, String field, Object value) {
+            if (row.containsKey(field)) {
+                row.put(field, value);
+            }
+        }
+
+        // Getters
+        public Long getTaskId() { return taskId; }
+        public Long getUserId() { return userId; }
+        public Task.Status getStatus() { return status; }
+        public Task.Priority getPriority() { return priority; }
+        public LocalDateTime getChangedAt() { return changedAt; }
+    }
+}
@@ -1,14 +1,20 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.ChangeLogEntry;
 import com.taskmanager.entity.User;
 import com.taskmanager.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Servicio de Usuarios
@@ -24,7 +30,22 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private DataVersionTracker dataVersionTracker;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private JsonMergePatcher jsonMergePatcher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Campos que PATCH /api/users/{id} puede modificar (la contraseña tiene su propio endpoint)
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("username", "email", "firstName", "lastName", "role", "enabled");
 
     /**
      * Crear un nuevo usuario
@@ -32,20 +53,17 @@ public class UserService {
      * @param user datos del usuario
      * @return User usuario creado
      * @throws IllegalArgumentException si el usuario ya existe
+     * @throws java.util.concurrent.RejectedExecutionException si el servicio de contraseñas está saturado
      */
+    // El hash se calcula fuera de la transacción: la espera en el pool de
+    // contraseñas no retiene una conexión. Se guarda en una transacción aparte
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(User user) {
-        // Verificar si el username ya existe
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new IllegalArgumentException("El nombre de usuario ya existe: " + user.getUsername());
-        }
-
-        // Verificar si el email ya existe
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("El email ya está registrado: " + user.getEmail());
-        }
+        // Rechazar duplicados antes de calcular el hash
+        checkAvailable(user);
 
         // Encriptar password
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         
         // Asignar valores por defecto
         if (user.getRole() == null) {
@@ -55,7 +73,24 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            checkAvailable(user);
+            User savedUser = userRepository.save(user);
+            changeLogService.recordUser(savedUser.getId(), ChangeLogEntry.Operation.CREATED);
+            return savedUser;
+        });
+    }
+
+    private void checkAvailable(User user) {
+        // Verificar si el username ya existe
+        if (userRepository.existsByUsername(user.getUsername())) {
+            throw new IllegalArgumentException("El nombre de usuario ya existe: " + user.getUsername());
+        }
+
+        // Verificar si el email ya existe
+        if (userRepository.existsByEmail(user.getEmail())) {
+            throw new IllegalArgumentException("El email ya está registrado: " + user.getEmail());
+        }
     }
 
     /**
@@ -166,26 +201,72 @@ public class UserService {
         user.setEnabled(userDetails.getEnabled());
         user.setUpdatedAt(LocalDateTime.now());
 
+        changeLogService.recordUser(user.getId(), ChangeLogEntry.Operation.UPDATED);
         return userRepository.save(user);
     }
 
     /**
-     * Cambiar contraseña de usuario
+     * Actualizar parcialmente un usuario (JSON Merge Patch)
+     * Solo cambian los campos presentes en el patch; si ninguno cambia de
+     * valor no se escribe nada.
      * 
      * @param id ID del usuario
-     * @param newPassword nueva contraseña
+     * @param patch campos a modificar (null borra el valor)
      * @return User usuario actualizado
+     * @throws IllegalArgumentException si el patch no es válido o el username/email ya existe
+     * @throws RuntimeException si el usuario no existe
      */
-    public User changePassword(Long id, String newPassword) {
+    public User patchUser(Long id, JsonNode patch) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        // Verificar username y email únicos (si cambian) antes de modificar la entidad
+        String username = patch != null ? patch.path("username").asText(null) : null;
+        if (username != null && !username.equals(user.getUsername()) && userRepository.existsByUsername(username)) {
+            throw new IllegalArgumentException("El nombre de usuario ya existe: " + username);
+        }
+        String email = patch != null ? patch.path("email").asText(null) : null;
+        if (email != null && !email.equals(user.getEmail()) && userRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("El email ya está registrado: " + email);
+        }
+
+        if (!jsonMergePatcher.apply(user, patch, PATCHABLE_FIELDS)) {
+            return user;
+        }
         user.setUpdatedAt(LocalDateTime.now());
 
+        changeLogService.recordUser(user.getId(), ChangeLogEntry.Operation.UPDATED);
         return userRepository.save(user);
     }
 
+    /**
+     * Cambiar contraseña de usuario
+     * 
+     * @param id ID del usuario
+     * @param newPassword nueva contraseña
+     * @return User usuario actualizado
+     * @throws java.util.concurrent.RejectedExecutionException si el servicio de contraseñas está saturado
+     */
+    // Como createUser: hash sin transacción y después la escritura
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public User changePassword(Long id, String newPassword) {
+        if (!userRepository.existsById(id)) {
+            throw new RuntimeException("Usuario no encontrado con ID: " + id);
+        }
+        String encodedPassword = passwordHashingService.encode(newPassword);
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
+
+            user.setPassword(encodedPassword);
+            user.setUpdatedAt(LocalDateTime.now());
+
+            changeLogService.recordUser(user.getId(), ChangeLogEntry.Operation.UPDATED);
+            return userRepository.save(user);
+        });
+    }
+
     /**
      * Habilitar/deshabilitar usuario
      * 
@@ -200,6 +281,7 @@ public class UserService {
         user.setEnabled(enabled);
         user.setUpdatedAt(LocalDateTime.now());
 
+        changeLogService.recordUser(user.getId(), ChangeLogEntry.Operation.UPDATED);
         return userRepository.save(user);
     }
 
@@ -213,6 +295,9 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("Usuario no encontrado con ID: " + id);
         }
+        // Las tareas del usuario se eliminan en cascada
+        changeLogService.recordUser(id, ChangeLogEntry.Operation.DELETED);
+        dataVersionTracker.bumpAfterCommit(id);
         userRepository.deleteById(id);
     }
 
@@ -297,13 +382,14 @@ public class UserService {
      * @param password contraseña
      * @return boolean true si las credenciales son válidas
      */
-    @Transactional(readOnly = true)
+    // Sin transacción: no se retiene una conexión mientras se compara el hash
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean validateCredentials(String usernameOrEmail, String password) {
         Optional<User> userOpt = findByUsernameOrEmail(usernameOrEmail);
         
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            return user.getEnabled() && passwordEncoder.matches(password, user.getPassword());
+            return user.getEnabled() && passwordHashingService.matches(password, user.getPassword());
         }
         
         return false;
@@ -0,0 +1,32 @@
+package com.taskmanager.stream;
+
+import com.taskmanager.entity.ChangeLogEntry;
+
+/**
+ * Evento compacto de cambio de una tarea (número de secuencia de change_log)
+ *
+ * @author Andre
+ */
+public class TaskChangeEvent {
+
+    private final long sequence;
+    private final Long taskId;
+    private final Long userId;
+    private final ChangeLogEntry.Operation operation;
+
+    public TaskChangeEvent(long sequence, Long taskId, Long userId, ChangeLogEntry.Operation operation) {
+        this.sequence = sequence;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.operation = operation;
+    }
+
+    public static TaskChangeEvent of(ChangeLogEntry entry) {
+        return new TaskChangeEvent(entry.getId(), entry.getEntityId(), entry.getUserId(), entry.getOperation());
+    }
+
+    public long getSequence() { return sequence; }
+    public Long getTaskId() { return taskId; }
+    public Long getUserId() { return userId; }
+    public ChangeLogEntry.Operation getOperation() { return operation; }
+}
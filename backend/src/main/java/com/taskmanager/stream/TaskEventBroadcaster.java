@@ -0,0 +1,382 @@
+package com.taskmanager.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.cache.RemoteChangesEvent;
+import com.taskmanager.entity.ChangeLogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Difusión de cambios de tareas por Server-Sent Events
+ * Las conexiones inactivas no ocupan hilos (servlet asíncrono): cada suscriptor
+ * tiene un buffer acotado y un pool pequeño lo vacía cuando hay eventos.
+ * La salida es no bloqueante (WriteListener): el pool solo escribe mientras
+ * el socket acepta datos y, si no, sigue con otros suscriptores; el
+ * contenedor avisa cuando se puede volver a escribir. Si un cliente se queda
+ * atrás se descarta su buffer y recibe un evento "resync" con la última
+ * secuencia entregada, para ponerse al día con
+ * GET /api/tasks/user/{userId}/changes. Un cliente que no lee durante
+ * app.stream.write-timeout se desconecta.
+ *
+ * @author Andre
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    private static final String METRIC_NAME = "taskmanager.stream.events";
+
+    private static final byte[] PING = ":ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor dispatchExecutor;
+
+    private final Counter deliveredCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter evictedCounter;
+
+    private final int bufferSize;
+
+    private final int maxSubscribers;
+
+    private final long timeoutMillis;
+
+    private final long writeTimeoutNanos;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${app.stream.buffer-size:256}") int bufferSize,
+                                @Value("${app.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${app.stream.timeout:30m}") Duration timeout,
+                                @Value("${app.stream.write-timeout:30s}") Duration writeTimeout,
+                                @Value("${app.stream.dispatch-threads:2}") int dispatchThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        // A lo sumo una tarea pendiente por suscriptor (ver Subscriber.scheduled)
+        this.dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("task-stream-"));
+        this.deliveredCounter = counter(meterRegistry, "delivered");
+        this.droppedCounter = counter(meterRegistry, "dropped");
+        this.evictedCounter = counter(meterRegistry, "evicted");
+        meterRegistry.gauge("taskmanager.stream.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Registrar un nuevo suscriptor y dejar abierta la respuesta
+     *
+     * @param request petición de la suscripción
+     * @param response respuesta donde se escriben los eventos
+     * @param userId ID del usuario a filtrar (null = todas las tareas)
+     * @throws IllegalStateException si se alcanzó el máximo de suscriptores
+     * @throws IOException si no se puede abrir la salida
+     */
+    public void subscribe(HttpServletRequest request, HttpServletResponse response, Long userId)
+            throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Se alcanzó el máximo de suscriptores: " + maxSubscribers);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+        Subscriber subscriber = new Subscriber(asyncContext, response.getOutputStream(), userId, bufferSize);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                subscribers.remove(subscriber);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                close(subscriber);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                close(subscriber);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        subscribers.add(subscriber);
+        // El contenedor llama a onWritePossible al registrarlo: se envían las cabeceras
+        subscriber.output.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                schedule(subscriber);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                close(subscriber);
+            }
+        });
+    }
+
+    /**
+     * Difundir un cambio local una vez confirmada la transacción
+     *
+     * @param event cambio de tarea
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChange(TaskChangeEvent event) {
+        broadcast(event);
+    }
+
+    /**
+     * Difundir los cambios de tareas confirmados por otros nodos
+     *
+     * @param event lote de cambios remotos
+     */
+    @EventListener
+    public void onRemoteChanges(RemoteChangesEvent event) {
+        event.getChanges().stream()
+                .filter(entry -> entry.getEntityType() == ChangeLogEntry.EntityType.TASK)
+                .map(TaskChangeEvent::of)
+                .forEach(this::broadcast);
+    }
+
+    /**
+     * Enviar un comentario periódico para detectar conexiones cerradas y
+     * desconectar a los clientes que llevan demasiado tiempo sin leer
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long stalledSince = subscriber.stalledSince;
+            if (stalledSince != 0 && now - stalledSince > writeTimeoutNanos) {
+                evictedCounter.increment();
+                close(subscriber);
+                continue;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Cantidad de suscriptores conectados
+     *
+     * @return int suscriptores
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(this::close);
+        dispatchExecutor.shutdownNow();
+    }
+
+    private void broadcast(TaskChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Se serializa una sola vez para todos los suscriptores
+        OutboundEvent outbound;
+        try {
+            outbound = new OutboundEvent(event.getSequence(),
+                    frame(Long.toString(event.getSequence()), "task", objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el evento de tarea {}", event.getTaskId(), e);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.userId != null && !subscriber.userId.equals(event.getUserId())) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(outbound)) {
+                subscriber.overflowed.set(true);
+                subscriber.buffer.clear();
+                droppedCounter.increment();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    // pending se marca antes de intentar programar: si ya hay un drain en
+    // curso (scheduled), es ese drain quien vuelve a programarse al terminar
+    private void schedule(Subscriber subscriber) {
+        subscriber.pending.set(true);
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatchExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    // Solo escribe mientras isReady(): con el socket lleno sale sin bloquear y
+    // el contenedor vuelve a llamar a onWritePossible cuando haya espacio
+    private void drain(Subscriber subscriber) {
+        ServletOutputStream output = subscriber.output;
+        subscriber.pending.set(false);
+        boolean ready;
+        try {
+            while ((ready = output.isReady())) {
+                byte[] frame = nextFrame(subscriber);
+                if (frame == null) {
+                    if (!subscriber.unflushed) {
+                        break;
+                    }
+                    subscriber.unflushed = false;
+                    output.flush();
+                    continue;
+                }
+                output.write(frame);
+                subscriber.unflushed = true;
+            }
+            subscriber.stalledSince = ready ? 0 : stalledSince(subscriber);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: la respuesta ya no es utilizable
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Un evento o un onWritePossible pudo llegar mientras scheduled seguía
+        // activo (incluso después de que isReady() devolviera false): se
+        // vuelve a vaciar en lugar de perder el aviso
+        if (subscriber.pending.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private byte[] nextFrame(Subscriber subscriber) throws JsonProcessingException {
+        if (subscriber.overflowed.getAndSet(false)) {
+            subscriber.buffer.clear();
+            return frame(null, "resync", objectMapper.writeValueAsString(
+                    Map.of("since", subscriber.lastSequence)));
+        }
+        OutboundEvent outbound = subscriber.buffer.poll();
+        if (outbound != null) {
+            subscriber.lastSequence = outbound.sequence;
+            deliveredCounter.increment();
+            return outbound.frame;
+        }
+        if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            return PING;
+        }
+        return null;
+    }
+
+    private static long stalledSince(Subscriber subscriber) {
+        return subscriber.stalledSince != 0 ? subscriber.stalledSince : System.nanoTime();
+    }
+
+    private void close(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        try {
+            subscriber.asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Ya completada por el contenedor
+        }
+    }
+
+    // Formato text/event-stream: una línea "data:" por cada línea del contenido
+    private static byte[] frame(String id, String name, String data) {
+        StringBuilder frame = new StringBuilder(data.length() + 64);
+        if (id != null) {
+            frame.append("id:").append(id).append('\n');
+        }
+        frame.append("event:").append(name).append('\n');
+        for (String line : data.split("\n", -1)) {
+            frame.append("data:").append(line).append('\n');
+        }
+        return frame.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Eventos de tareas enviados por SSE")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class OutboundEvent {
+        private final long sequence;
+        private final byte[] frame;
+
+        private OutboundEvent(long sequence, byte[] frame) {
+            this.sequence = sequence;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Subscriber {
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream output;
+        private final Long userId;
+        private final Queue<OutboundEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Hay trabajo o un aviso del contenedor desde el inicio del último drain
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private volatile long lastSequence;
+        // Solo lo usa el hilo que vacía el buffer (scheduled)
+        private boolean unflushed = true;
+        // nanoTime desde el que el socket no acepta datos (0 = escribiendo)
+        private volatile long stalledSince;
+
+        private Subscriber(AsyncContext asyncContext, ServletOutputStream output, Long userId, int bufferSize) {
+            this.asyncContext = asyncContext;
+            this.output = output;
+            this.userId = userId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
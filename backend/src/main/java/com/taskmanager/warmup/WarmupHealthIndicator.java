@@ -0,0 +1,31 @@
+package com.taskmanager.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de salud del calentamiento
+ * Forma parte del grupo readiness: OUT_OF_SERVICE hasta que el calentamiento
+ * termina o vence su plazo.
+ *
+ * @author Andre
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    public WarmupHealthIndicator(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", warmupService.getState())
+                .withDetail("elapsedMs", warmupService.getElapsedMillis())
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskmanager.warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la fase de calentamiento previa a readiness
+ *
+ * @author Andre
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /**
+     * Habilitar el calentamiento al arrancar
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo máximo de calentamiento; pasado este plazo se reporta UP igualmente
+     */
+    private Duration deadline = Duration.ofSeconds(60);
+
+    /**
+     * Repeticiones de la mezcla sintética de peticiones
+     */
+    private int iterations = 200;
+
+    /**
+     * Rutas GET de la mezcla sintética ({userId} y {taskId} se sustituyen
+     * por datos reales si existen)
+     */
+    private List<String> paths = new ArrayList<>(List.of(
+            "/api/tasks/{taskId}",
+            "/api/tasks/user/{userId}",
+            "/api/tasks/user/{userId}/summary",
+            "/api/tasks/user/{userId}/pending",
+            "/api/tasks/status/PENDING",
+            "/api/tasks/priority/HIGH",
+            "/api/tasks/overdue",
+            "/api/tasks/statistics/status",
+            "/api/tasks/statistics/priority",
+            "/api/users/{userId}",
+            "/api/users/statistics"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+}
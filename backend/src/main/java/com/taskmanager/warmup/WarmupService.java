@@ -0,0 +1,241 @@
+package com.taskmanager.warmup;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fase de calentamiento tras el arranque
+ * Prepara todas las consultas de TaskRepository/UserRepository, precarga las
+ * cachés calientes y reproduce en el propio proceso una mezcla sintética de
+ * peticiones para que el JIT compile las rutas de los controladores. Mientras
+ * dura, el indicador de salud "warmup" mantiene readiness fuera de servicio.
+ *
+ * @author Andre
+ */
+@Component
+public class WarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    private final WarmupProperties properties;
+
+    private final TaskRepository taskRepository;
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile State state = State.PENDING;
+
+    private volatile long startedAt;
+
+    private volatile long finishedAt;
+
+    public WarmupService(WarmupProperties properties, TaskRepository taskRepository,
+                         UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Lanzar el calentamiento cuando la aplicación está lista
+     *
+     * @param event evento de aplicación lista
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            state = State.DISABLED;
+            return;
+        }
+        startedAt = System.currentTimeMillis();
+        state = State.RUNNING;
+        int port = event.getApplicationContext() instanceof WebServerApplicationContext web
+                ? web.getWebServer().getPort() : -1;
+
+        Thread thread = new Thread(() -> run(port), "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Indica si el calentamiento terminó o venció su plazo
+     *
+     * @return boolean true si la instancia puede recibir tráfico
+     */
+    public boolean isReady() {
+        return (state != State.PENDING && state != State.RUNNING) || deadlinePassed();
+    }
+
+    public State getState() {
+        return state == State.RUNNING && deadlinePassed() ? State.DEADLINE_EXCEEDED : state;
+    }
+
+    public long getElapsedMillis() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        return (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    private void run(int port) {
+        try {
+            int prepared = prepareQueries(TaskRepository.class, taskRepository)
+                    + prepareQueries(UserRepository.class, userRepository);
+            log.info("Calentamiento: {} consultas preparadas", prepared);
+
+            if (port > 0) {
+                replayRequests(port);
+            }
+            state = deadlinePassed() ? State.DEADLINE_EXCEEDED : State.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Calentamiento interrumpido: {}", e.getMessage());
+            state = State.FAILED;
+        } finally {
+            finishedAt = System.currentTimeMillis();
+            log.info("Calentamiento {} en {} ms", state, getElapsedMillis());
+        }
+    }
+
+    /**
+     * Ejecutar una vez cada método de consulta del repositorio con argumentos
+     * de relleno para que Hibernate compile y cachee el plan de la consulta
+     */
+    private int prepareQueries(Class<?> repositoryType, Object repository) {
+        int prepared = 0;
+        for (Method method : repositoryType.getDeclaredMethods()) {
+            if (deadlinePassed()) {
+                break;
+            }
+            if (Modifier.isStatic(method.getModifiers()) || method.isDefault()
+                    || method.isAnnotationPresent(Modifying.class)) {
+                continue;
+            }
+            Object[] args = sampleArguments(method);
+            if (args == null) {
+                continue;
+            }
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> invoke(method, repository, args));
+                prepared++;
+            } catch (RuntimeException e) {
+                log.debug("Calentamiento: no se pudo preparar {}: {}", method.getName(), e.getMessage());
+            }
+        }
+        return prepared;
+    }
+
+    private void invoke(Method method, Object repository, Object[] args) {
+        try {
+            Object result = method.invoke(repository, args);
+            if (result instanceof Stream<?> stream) {
+                stream.close();
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Object value = sampleValue(types[i]);
+            if (value == null) {
+                return null;
+            }
+            args[i] = value;
+        }
+        return args;
+    }
+
+    private Object sampleValue(Class<?> type) {
+        if (type == Long.class || type == long.class) return -1L;
+        if (type == Integer.class || type == int.class) return 1;
+        if (type == Boolean.class || type == boolean.class) return Boolean.TRUE;
+        if (type == String.class) return "warmup";
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type == LocalDate.class) return LocalDate.now();
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (type == User.class) {
+            User user = new User();
+            user.setId(-1L);
+            return user;
+        }
+        return null;
+    }
+
+    /**
+     * Reproducir la mezcla sintética de peticiones contra el propio servidor;
+     * la primera ronda también deja precargadas las cachés de respuestas
+     */
+    private void replayRequests(int port) {
+        String userId = userRepository.findAll(PageRequest.of(0, 1)).stream()
+                .findFirst().map(user -> String.valueOf(user.getId())).orElse("1");
+        String taskId = taskRepository.findAll(PageRequest.of(0, 1)).stream()
+                .findFirst().map(task -> String.valueOf(task.getId())).orElse("1");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        int sent = 0;
+        for (int i = 0; i < properties.getIterations() && !deadlinePassed(); i++) {
+            for (String path : properties.getPaths()) {
+                String resolved = path.replace("{userId}", userId).replace("{taskId}", taskId);
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + resolved))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("X-Warmup", "true")
+                        .GET().build();
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    sent++;
+                } catch (IOException e) {
+                    log.debug("Calentamiento: fallo en {}: {}", resolved, e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        log.info("Calentamiento: {} peticiones sintéticas reproducidas", sent);
+    }
+
+    private boolean deadlinePassed() {
+        return startedAt != 0 && System.currentTimeMillis() - startedAt > properties.getDeadline().toMillis();
+    }
+
+    /**
+     * Estado del calentamiento
+     */
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        DEADLINE_EXCEEDED,
+        FAILED,
+        DISABLED
+    }
+}
@@ -0,0 +1,148 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.service.ChangeLogService;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import org.h2.tools.Server;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Tests para ChangeLogPoller
+ */
+class ChangeLogPollerTest {
+
+    @Test
+    void testAcceptWaitsForGapUntilTimeout() {
+        // Given
+        ChangeLogPoller poller = new ChangeLogPoller(mock(ChangeLogRepository.class), mock(ChangeLogService.class),
+                mock(ApplicationEventPublisher.class), 100, Duration.ofSeconds(5), Duration.ofMinutes(10));
+        poller.setLastSequence(10);
+        List<ChangeLogEntry> batch = List.of(entry(11), entry(13));
+
+        // When
+        List<ChangeLogEntry> accepted = poller.accept(batch, 1_000);
+
+        // Then
+        assertEquals(1, accepted.size());
+        assertEquals(11, poller.getLastSequence());
+
+        // When (el hueco 12 sigue vacío tras el timeout)
+        accepted = poller.accept(List.of(entry(13)), 7_000);
+
+        // Then
+        assertEquals(1, accepted.size());
+        assertEquals(13, poller.getLastSequence());
+        assertEquals(Set.of(12L), poller.getSkipped());
+    }
+
+    @Test
+    void testSkippedChangeIsPublishedWhenItCommitsLate() {
+        // Given: el 12 se saltó por timeout y su transacción confirma después
+        ChangeLogRepository repository = mock(ChangeLogRepository.class);
+        ChangeLogService changeLogService = mock(ChangeLogService.class);
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        when(changeLogService.getNodeId()).thenReturn("local");
+        ChangeLogPoller poller = new ChangeLogPoller(repository, changeLogService, eventPublisher,
+                100, Duration.ofSeconds(5), Duration.ofMinutes(10));
+        poller.setLastSequence(11);
+        poller.accept(List.of(entry(13)), 1_000);
+        poller.accept(List.of(entry(13)), 7_000);
+        when(repository.findAllById(Set.of(12L))).thenReturn(List.of(entry(12)));
+
+        // When
+        poller.recheckSkipped(8_000);
+
+        // Then
+        ArgumentCaptor<RemoteChangesEvent> event = ArgumentCaptor.forClass(RemoteChangesEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(12L, event.getValue().getChanges().get(0).getId());
+        assertEquals(Set.of(), poller.getSkipped());
+    }
+
+    @Test
+    void testSkippedChangeIsForgottenAfterRecheckWindow() {
+        // Given
+        ChangeLogRepository repository = mock(ChangeLogRepository.class);
+        ChangeLogPoller poller = new ChangeLogPoller(repository, mock(ChangeLogService.class),
+                mock(ApplicationEventPublisher.class), 100, Duration.ofSeconds(5), Duration.ofMinutes(10));
+        poller.setLastSequence(11);
+        poller.accept(List.of(entry(13)), 1_000);
+        poller.accept(List.of(entry(13)), 7_000);
+
+        // When (la transacción del 12 se revirtió)
+        poller.recheckSkipped(7_000 + Duration.ofMinutes(10).toMillis());
+
+        // Then
+        assertEquals(Set.of(), poller.getSkipped());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void testRemoteNodeInvalidatesUserVersion() throws Exception {
+        // Given: dos instancias sobre el mismo servidor H2 en loopback
+        Server server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:cluster;DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext nodeA = startNode("A", url);
+             ConfigurableApplicationContext nodeB = startNode("B", url)) {
+            ChangeLogPoller pollerB = nodeB.getBean(ChangeLogPoller.class);
+            waitUntil(() -> pollerB.getLastSequence() >= 0);
+
+            User user = nodeA.getBean(UserService.class)
+                    .createUser(new User("cluster01", "cluster01@test.com", "password123", "Nodo", "A"));
+            DataVersionTracker trackerB = nodeB.getBean(DataVersionTracker.class);
+            long versionBefore = trackerB.currentVersion(user.getId());
+
+            // When
+            nodeA.getBean(TaskService.class)
+                    .createTask(new Task("Tarea remota", null, Task.Priority.HIGH, null), user.getId());
+
+            // Then
+            waitUntil(() -> trackerB.currentVersion(user.getId()) > versionBefore);
+            assertTrue(trackerB.currentVersion(user.getId()) > versionBefore);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId, String url) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.devtools.restart.enabled=false",
+                "--app.warmup.enabled=false",
+                "--app.node-id=" + nodeId,
+                "--app.change-log.poll-enabled=true",
+                "--app.change-log.poll-interval=100");
+    }
+
+    private static ChangeLogEntry entry(long id) {
+        ChangeLogEntry entry = new ChangeLogEntry(ChangeLogEntry.EntityType.TASK, id, 1L,
+                ChangeLogEntry.Operation.UPDATED, "remote");
+        entry.setId(id);
+        return entry;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
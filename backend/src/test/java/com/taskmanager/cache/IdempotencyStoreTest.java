@@ -0,0 +1,187 @@
+package com.taskmanager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Tests unitarios para IdempotencyStore
+ */
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private IdempotencyStore idempotencyStore;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyStore = new IdempotencyStore(new ObjectMapper(), meterRegistry,
+                Duration.ofMinutes(1), 3, Duration.ofSeconds(5));
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_RetryReplaysOriginalResponse() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        Map<String, String> request = Map.of("title", "Tarea");
+
+        // When
+        ResponseEntity<?> first = idempotencyStore.execute("tasks", "clave-1", request, () -> created(executions));
+        ResponseEntity<?> retry = idempotencyStore.execute("tasks", "clave-1", request, () -> created(executions));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_ConcurrentRetriesWaitForFirstExecution() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> idempotencyStore.execute("tasks", "clave-2", "cuerpo", () -> {
+                await(release);
+                return created(executions);
+            })));
+        }
+        waitUntil(() -> meterRegistry.counter("taskmanager.idempotency.requests",
+                "scope", "tasks", "outcome", "waited").count() == 7);
+        release.countDown();
+
+        // Then
+        for (Future<ResponseEntity<?>> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_SameKeyWithDifferentBodyIsRejected() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        idempotencyStore.execute("users", "clave-3", "ana", () -> created(executions));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyStore.execute("users", "clave-3", "bob", () -> created(executions)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_ServerErrorIsNotRemembered() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        idempotencyStore.execute("tasks", "clave-4", "cuerpo", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.internalServerError().build();
+        });
+        ResponseEntity<?> retry = idempotencyStore.execute("tasks", "clave-4", "cuerpo", () -> created(executions));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+    }
+
+    @Test
+    void testExecute_TransientClientErrorIsNotRemembered() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        idempotencyStore.execute("tasks", "clave-5", "cuerpo", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        });
+        ResponseEntity<?> retry = idempotencyStore.execute("tasks", "clave-5", "cuerpo", () -> created(executions));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+    }
+
+    @Test
+    void testExecute_ValidationErrorIsReplayed() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        idempotencyStore.execute("tasks", "clave-6", "cuerpo", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.badRequest().build();
+        });
+        ResponseEntity<?> retry = idempotencyStore.execute("tasks", "clave-6", "cuerpo", () -> created(executions));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.BAD_REQUEST, retry.getStatusCode());
+    }
+
+    @Test
+    void testExecute_StoreIsBounded() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            idempotencyStore.execute("tasks", "clave-" + i, "cuerpo", () -> created(executions));
+        }
+
+        // Then
+        assertEquals(10, executions.get());
+        assertTrue(idempotencyStore.size() <= 4);
+    }
+
+    private static ResponseEntity<?> created(AtomicInteger executions) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(executions.incrementAndGet());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
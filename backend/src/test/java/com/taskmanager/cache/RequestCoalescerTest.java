@@ -0,0 +1,112 @@
+package com.taskmanager.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para RequestCoalescer
+ */
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestCoalescer requestCoalescer;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallsShareOneQuery() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute("overdueTasks", null, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        waitUntil(() -> meterRegistry.counter("taskmanager.coalescing.calls",
+                "operation", "overdueTasks", "outcome", "coalesced").count() == 7);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, requestCoalescer.getInFlightCount());
+    }
+
+    @Test
+    void testExecute_DifferentArgumentsDoNotShare() {
+        // When
+        String first = requestCoalescer.execute("userTaskSummary", 1L, () -> "user-1");
+        String second = requestCoalescer.execute("userTaskSummary", 2L, () -> "user-2");
+
+        // Then
+        assertEquals("user-1", first);
+        assertEquals("user-2", second);
+        assertEquals(2, meterRegistry.counter("taskmanager.coalescing.calls",
+                "operation", "userTaskSummary", "outcome", "executed").count());
+    }
+
+    @Test
+    void testExecute_FailureIsPropagatedAndNotRemembered() {
+        // When & Then
+        RuntimeException exception = assertThrows(
+            RuntimeException.class,
+            () -> requestCoalescer.execute("statisticsByStatus", null, () -> {
+                throw new RuntimeException("fallo");
+            })
+        );
+        assertEquals("fallo", exception.getMessage());
+
+        String result = requestCoalescer.execute("statisticsByStatus", null, () -> "ok");
+        assertEquals("ok", result);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
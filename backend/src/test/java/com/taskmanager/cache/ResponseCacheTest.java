@@ -0,0 +1,92 @@
+package com.taskmanager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Tests unitarios para ResponseCache
+ */
+class ResponseCacheTest {
+
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntries(3);
+        properties.getRoutes().put("stats", new ResponseCacheProperties.RoutePolicy());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(properties, new RequestCoalescer(meterRegistry), meterRegistry,
+                new ObjectMapper(), new Jackson2ObjectMapperBuilder());
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        responseCache.shutdown();
+    }
+
+    @Test
+    void testServe_SerializesEachNegotiatedFormatOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        ResponseEntity<Object> json = responseCache.serve("stats", null, null, () -> load(loads));
+        ResponseEntity<Object> cbor = responseCache.serve("stats", null, "application/cbor", () -> load(loads));
+        ResponseEntity<Object> cborAgain = responseCache.serve("stats", null, "application/cbor", () -> load(loads));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertEquals("{\"loads\":1}", new String((byte[]) json.getBody()));
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertSame(cbor.getBody(), cborAgain.getBody());
+        assertEquals("HIT", cborAgain.getHeaders().getFirst("X-Cache"));
+    }
+
+    @Test
+    void testServe_UnsupportedAcceptIsNotAcceptable() {
+        // When
+        ResponseEntity<Object> response = responseCache.serve("stats", null, "application/xml",
+                () -> Map.of("loads", 1));
+
+        // Then
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+
+    @Test
+    void testServe_FullCacheEvictsOldestEntryOnly() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        for (String parameters : List.of("a", "b", "c")) {
+            responseCache.serve("stats", parameters, null, () -> load(loads));
+        }
+
+        // When
+        responseCache.serve("stats", "d", null, () -> load(loads));
+        ResponseEntity<Object> newest = responseCache.serve("stats", "c", null, () -> load(loads));
+        ResponseEntity<Object> oldest = responseCache.serve("stats", "a", null, () -> load(loads));
+
+        // Then
+        assertEquals("HIT", newest.getHeaders().getFirst("X-Cache"));
+        assertEquals("MISS", oldest.getHeaders().getFirst("X-Cache"));
+        assertEquals(5, loads.get());
+    }
+
+    private static Map<String, Integer> load(AtomicInteger loads) {
+        return Map.of("loads", loads.incrementAndGet());
+    }
+}
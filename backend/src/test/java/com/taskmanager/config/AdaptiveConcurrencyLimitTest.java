@@ -0,0 +1,105 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para AdaptiveConcurrencyLimit
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void testTryAcquire_RejectsOverLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        // When / Then
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.onIgnore();
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void testOnSuccess_StableLatencyUnderLoad_LimitGrows() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 100);
+
+        // When: el límite completo ocupado y latencia constante
+        for (int i = 0; i < 50; i++) {
+            fill(limit);
+            drain(limit, RTT);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() > 10, "límite " + limit.getLimit());
+    }
+
+    @Test
+    void testOnSuccess_LatencyIncrease_LimitShrinks() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 100);
+        for (int i = 0; i < 20; i++) {
+            fill(limit);
+            drain(limit, RTT);
+        }
+        int before = limit.getLimit();
+
+        // When: la latencia se multiplica por 5
+        for (int i = 0; i < 20; i++) {
+            fill(limit);
+            drain(limit, RTT * 5);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void testOnSuccess_LowTraffic_LimitUnchanged() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+        // When: una petición cada vez
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onSuccess(RTT);
+        }
+
+        // Then
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void testOnDropped_BacksOffToMinimum() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onDropped();
+        }
+
+        // Then
+        assertEquals(5, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private void fill(AdaptiveConcurrencyLimit limit) {
+        while (limit.tryAcquire()) {
+            // ocupar todos los huecos
+        }
+    }
+
+    private void drain(AdaptiveConcurrencyLimit limit, long rtt) {
+        while (limit.getInFlight() > 0) {
+            limit.onSuccess(rtt);
+        }
+    }
+}
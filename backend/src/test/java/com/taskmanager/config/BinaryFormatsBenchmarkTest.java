@@ -0,0 +1,129 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.entity.Task;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark de formatos de respuesta: JSON frente a CBOR y Smile
+ * Compara bytes (sin comprimir y con gzip) y tiempo de serialización de un
+ * listado grande de tareas, y comprueba que las fechas viajan como epoch millis.
+ */
+class BinaryFormatsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryFormatsBenchmarkTest.class);
+
+    private static final int TASKS = 5000;
+
+    private static final int WARMUP_ROUNDS = 10;
+
+    private static final int MEASURED_ROUNDS = 15;
+
+    private ObjectMapper jsonMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper smileMapper;
+
+    private List<Task> tasks;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        jsonMapper = builder().build();
+        cborMapper = BinaryFormats.cborMapper(builder());
+        smileMapper = BinaryFormats.smileMapper(builder());
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0).plusNanos(123_456_789);
+        tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Tarea " + i, "Descripción de la tarea " + i,
+                    Task.Priority.values()[i % 3], base.plusDays(i % 30));
+            task.setId((long) i + 1);
+            task.setStatus(i % 4 == 0 ? Task.Status.COMPLETED : Task.Status.PENDING);
+            task.setCreatedAt(base.plusMinutes(i));
+            task.setUpdatedAt(base.plusMinutes(i).plusSeconds(30));
+            tasks.add(task);
+        }
+    }
+
+    @Test
+    void testBinaryFormats_SmallerThanJson() throws Exception {
+        // When
+        byte[] json = jsonMapper.writeValueAsBytes(tasks);
+        byte[] cbor = cborMapper.writeValueAsBytes(tasks);
+        byte[] smile = smileMapper.writeValueAsBytes(tasks);
+
+        // Then
+        report("json", json, time(jsonMapper));
+        report("cbor", cbor, time(cborMapper));
+        report("smile", smile, time(smileMapper));
+        assertTrue(cbor.length < json.length);
+        assertTrue(smile.length < json.length);
+    }
+
+    @Test
+    void testBinaryFormats_DatesAsEpochMillis() throws Exception {
+        // Given
+        Task original = tasks.get(0);
+
+        // When
+        byte[] cbor = cborMapper.writeValueAsBytes(List.of(original));
+        List<Task> decoded = cborMapper.readValue(cbor, new TypeReference<List<Task>>() {});
+        Object raw = cborMapper.readValue(cbor, List.class).get(0);
+
+        // Then
+        assertInstanceOf(Long.class, ((Map<?, ?>) raw).get("createdAt"));
+        assertEquals(original.getCreatedAt().truncatedTo(ChronoUnit.MILLIS), decoded.get(0).getCreatedAt());
+        assertEquals(original.getDueDate().truncatedTo(ChronoUnit.MILLIS), decoded.get(0).getDueDate());
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        // Equivalente a spring.jackson.default-property-inclusion=NON_NULL
+        return Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private long[] time(ObjectMapper mapper) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.writeValueAsBytes(tasks);
+        }
+        long[] nanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(tasks);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void report(String format, byte[] body, long[] nanos) throws IOException {
+        log.info(String.format("%-5s %9d bytes %8d gzip  median %6.2f ms  min %6.2f ms (%d tareas)",
+                format, body.length, gzip(body).length,
+                nanos[nanos.length / 2] / 1_000_000.0, nanos[0] / 1_000_000.0, TASKS));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests unitarios para BulkheadFilter
+ */
+class BulkheadFilterTest {
+
+    private static final String ORIGIN = "http://localhost:4200";
+
+    private final BulkheadFilter filter = filter();
+
+    @Test
+    void testRejectionCarriesCorsHeadersAndPreflightIsNotCounted() throws Exception {
+        // Given: una petición ocupa el único hueco CRUD
+        MockHttpServletResponse preflight = new MockHttpServletResponse();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain occupying = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                try {
+                    MockHttpServletRequest options = request("OPTIONS", "/api/tasks/1");
+                    options.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT");
+                    filter.doFilter(options, preflight, new MockFilterChain());
+                    filter.doFilter(request("PUT", "/api/tasks/1"), rejected, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        // When
+        filter.doFilter(request("POST", "/api/tasks"), new MockHttpServletResponse(), occupying);
+
+        // Then
+        assertEquals(200, preflight.getStatus());
+        assertEquals(503, rejected.getStatus());
+        assertEquals(ORIGIN, rejected.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals(HttpHeaders.RETRY_AFTER, rejected.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS));
+    }
+
+    private static BulkheadFilter filter() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getCrud().setMaxConcurrent(1);
+        properties.getCrud().setMaxWait(Duration.ZERO);
+        return new BulkheadFilter(properties, new RouteClassifier(properties),
+                new CorsConfig().corsConfigurationSource(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests unitarios para ConcurrencyLimitFilter
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final String ORIGIN = "http://localhost:4200";
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new RouteClassifier(new BulkheadProperties()), new CorsConfig().corsConfigurationSource(),
+            new ObjectMapper(), new SimpleMeterRegistry(), true, 1, 1, 1);
+
+    @Test
+    void testRejectionCarriesCorsHeaders() throws Exception {
+        // Given: una petición ocupa el único hueco mientras llega la segunda
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        MockFilterChain occupying = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                try {
+                    filter.doFilter(request("POST", "/api/tasks"), second, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        // When
+        filter.doFilter(request("POST", "/api/tasks"), new MockHttpServletResponse(), occupying);
+
+        // Then
+        assertEquals(503, second.getStatus());
+        assertEquals("1", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(ORIGIN, second.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("true", second.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+        assertEquals(HttpHeaders.RETRY_AFTER, second.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS));
+    }
+
+    @Test
+    void testPreflightAndImportAreNotLimited() throws Exception {
+        // Given
+        MockHttpServletResponse preflight = new MockHttpServletResponse();
+        MockHttpServletResponse upload = new MockHttpServletResponse();
+        MockFilterChain occupying = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                try {
+                    MockHttpServletRequest options = request("OPTIONS", "/api/tasks");
+                    options.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+                    filter.doFilter(options, preflight, new MockFilterChain());
+                    filter.doFilter(request("POST", "/api/tasks/import"), upload, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        // When
+        filter.doFilter(request("POST", "/api/tasks"), new MockHttpServletResponse(), occupying);
+
+        // Then
+        assertEquals(200, preflight.getStatus());
+        assertEquals(200, upload.getStatus());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+        return request;
+    }
+}
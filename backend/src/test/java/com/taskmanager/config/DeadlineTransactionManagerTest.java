@@ -0,0 +1,65 @@
+package com.taskmanager.config;
+
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Tests unitarios para DeadlineTransactionManager
+ */
+class DeadlineTransactionManagerTest {
+
+    private final DeadlineTransactionManager transactionManager = new DeadlineTransactionManager();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void testDetermineTimeout_WithoutDeadline_UsesDefinition() {
+        // When / Then
+        assertEquals(TransactionDefinition.TIMEOUT_DEFAULT,
+                transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+    }
+
+    @Test
+    void testDetermineTimeout_WithDeadline_UsesRemainingSeconds() {
+        // Given
+        RequestDeadline.bind(Duration.ofMillis(2500));
+
+        // When
+        int timeout = transactionManager.determineTimeout(new DefaultTransactionDefinition());
+
+        // Then: redondeado hacia arriba, más el segundo que trunca Hibernate
+        assertEquals(4, timeout);
+    }
+
+    @Test
+    void testDetermineTimeout_ShorterDefinitionTimeout_Wins() {
+        // Given
+        RequestDeadline.bind(Duration.ofSeconds(30));
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setTimeout(2);
+
+        // When / Then
+        assertEquals(2, transactionManager.determineTimeout(definition));
+    }
+
+    @Test
+    void testDetermineTimeout_ExpiredDeadline_Throws() throws InterruptedException {
+        // Given
+        RequestDeadline deadline = RequestDeadline.bind(Duration.ofMillis(1));
+        while (!deadline.isExpired()) {
+            Thread.sleep(1);
+        }
+
+        // When / Then
+        assertThrows(TransactionTimedOutException.class,
+                () -> transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para la propagación de RouteClass a otros hilos
+ */
+class RouteClassTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        RouteClass.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPropagate_WorkerRunsWithCapturedClass() throws Exception {
+        // Given
+        RouteClass.bind(RouteClass.ANALYTICS);
+        AtomicReference<RouteClass> seen = new AtomicReference<>();
+
+        // When
+        executor.submit(RouteClass.propagate(() -> seen.set(RouteClass.current()))).get();
+        RouteClass supplied = CompletableFuture.supplyAsync(RouteClass.propagate(RouteClass::current), executor).get();
+        RouteClass afterwards = executor.submit(RouteClass::current).get();
+
+        // Then: el hilo del pool no conserva la clase después de la tarea
+        assertEquals(RouteClass.ANALYTICS, seen.get());
+        assertEquals(RouteClass.ANALYTICS, supplied);
+        assertEquals(RouteClass.CRUD, afterwards);
+    }
+
+    @Test
+    void testPropagate_CallerThreadKeepsItsClass() {
+        // Given: una tarea capturada sin clase que corre en el hilo de la petición
+        Runnable task = RouteClass.propagate(() -> assertEquals(RouteClass.CRUD, RouteClass.current()));
+        RouteClass.bind(RouteClass.ANALYTICS);
+
+        // When
+        task.run();
+
+        // Then
+        assertEquals(RouteClass.ANALYTICS, RouteClass.current());
+    }
+}
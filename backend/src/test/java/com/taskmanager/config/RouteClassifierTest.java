@@ -0,0 +1,66 @@
+package com.taskmanager.config;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Tests unitarios para RouteClassifier
+ */
+class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = classifier("/api/tasks", "/api/tasks/search/**",
+            "/api/tasks/statistics/**", "/api/tasks/overdue");
+
+    @Test
+    void testClassify_AnalyticsReads() {
+        // When / Then
+        assertEquals(RouteClass.ANALYTICS, routeClassifier.classify(request("GET", "/api/tasks")));
+        assertEquals(RouteClass.ANALYTICS, routeClassifier.classify(request("GET", "/api/tasks/search/title")));
+        assertEquals(RouteClass.ANALYTICS, routeClassifier.classify(request("GET", "/api/tasks/statistics/status")));
+        assertEquals(RouteClass.ANALYTICS, routeClassifier.classify(request("GET", "/api/tasks/overdue")));
+    }
+
+    @Test
+    void testClassify_CrudOperations() {
+        // When / Then
+        assertEquals(RouteClass.CRUD, routeClassifier.classify(request("POST", "/api/tasks")));
+        assertEquals(RouteClass.CRUD, routeClassifier.classify(request("GET", "/api/tasks/42")));
+        assertEquals(RouteClass.CRUD, routeClassifier.classify(request("GET", "/api/tasks/user/1/overdue")));
+        assertEquals(RouteClass.CRUD, routeClassifier.classify(request("PUT", "/api/tasks/42/status")));
+    }
+
+    @Test
+    void testClassify_MultiGetByIds_IsCrud() {
+        // Given
+        MockHttpServletRequest request = request("GET", "/api/tasks");
+        request.setParameter("ids", "1,2,3");
+
+        // When / Then
+        assertEquals(RouteClass.CRUD, routeClassifier.classify(request));
+    }
+
+    @Test
+    void testCurrent_DefaultsToCrud() {
+        // When / Then
+        assertEquals(RouteClass.CRUD, RouteClass.current());
+        RouteClass.bind(RouteClass.ANALYTICS);
+        try {
+            assertEquals(RouteClass.ANALYTICS, RouteClass.current());
+        } finally {
+            RouteClass.clear();
+        }
+        assertEquals(RouteClass.CRUD, RouteClass.current());
+    }
+
+    private static RouteClassifier classifier(String... analyticsPaths) {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setAnalyticsPaths(List.of(analyticsPaths));
+        return new RouteClassifier(properties);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
@@ -0,0 +1,171 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark de carga de las lecturas de TaskController contra un servidor en marcha
+ * Mide throughput y latencias p50/p99 con N clientes concurrentes. Para
+ * comparar hilos de plataforma con hilos virtuales se ejecuta dos veces,
+ * una contra cada modo del servidor (ver README, "Hilos virtuales").
+ *
+ * mvn test -Dtest=TaskControllerLoadBenchmarkTest -Dbenchmark.url=http://localhost:8080 -Dbenchmark.label=platform
+ */
+@EnabledIfSystemProperty(named = "benchmark.url", matches = ".+")
+class TaskControllerLoadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskControllerLoadBenchmarkTest.class);
+
+    private static final String URL = System.getProperty("benchmark.url");
+
+    private static final String LABEL = System.getProperty("benchmark.label", "servidor");
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 20));
+
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 5));
+
+    private static final int TASKS = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void testTaskReads_ThroughputAndLatency() throws Exception {
+        // Given
+        long userId = createUser();
+        List<Long> taskIds = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            taskIds.add(createTask(userId, i));
+        }
+        run(userId, taskIds, WARMUP);
+
+        // When
+        Result result = run(userId, taskIds, DURATION);
+
+        // Then
+        log.info(String.format("%-10s %4d clientes  %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  "
+                        + "rechazadas (503) %d  errores %d de %d",
+                LABEL, CONCURRENCY, result.latencies.length / (DURATION.toMillis() / 1000.0),
+                percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                result.rejected, result.errors, result.latencies.length));
+        assertTrue(result.latencies.length > 0);
+    }
+
+    // Mezcla de lecturas: tarea por ID y tareas del usuario
+    private Result run(long userId, List<Long> taskIds, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(CONCURRENCY);
+        try {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        String path = ThreadLocalRandom.current().nextInt(4) == 0
+                                ? "/api/tasks/user/" + userId
+                                : "/api/tasks/" + taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(get(path), HttpResponse.BodyHandlers.discarding());
+                            // 503: descartada por el límite de concurrencia o el bulkhead
+                            if (response.statusCode() == 503) {
+                                rejected.incrementAndGet();
+                            } else if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            List<long[]> all = new ArrayList<>(CONCURRENCY);
+            for (Future<long[]> worker : workers) {
+                all.add(worker.get());
+            }
+            long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(latencies, rejected.get(), errors.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long createUser() throws Exception {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        String body = "{\"username\":\"bench" + suffix + "\",\"email\":\"bench" + suffix + "@example.com\","
+                + "\"password\":\"benchmark\",\"firstName\":\"Bench\",\"lastName\":\"Mark\"}";
+        return post("/api/users", body).get("id").asLong();
+    }
+
+    private long createTask(long userId, int index) throws Exception {
+        String body = "{\"title\":\"Tarea " + index + "\",\"description\":\"Benchmark de carga\","
+                + "\"priority\":\"MEDIUM\",\"userId\":" + userId + "}";
+        return post("/api/tasks", body).get("id").asLong();
+    }
+
+    private JsonNode post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(URL + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static class Result {
+        private final long[] latencies;
+        private final long rejected;
+        private final long errors;
+
+        Result(long[] latencies, long rejected, long errors) {
+            this.latencies = latencies;
+            this.rejected = rejected;
+            this.errors = errors;
+        }
+    }
+}
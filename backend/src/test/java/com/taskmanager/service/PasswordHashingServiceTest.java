@@ -0,0 +1,113 @@
+package com.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Tests unitarios para PasswordHashingService
+ */
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void testEncode_DelegatesToEncoder() {
+        // Given
+        service = new PasswordHashingService(new BlockingEncoder(false), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        // When
+        String hash = service.encode("secret");
+
+        // Then
+        assertEquals("hash:secret", hash);
+        assertTrue(service.matches("secret", "hash:secret"));
+        assertEquals(1, meterRegistry.get("taskmanager.password-hashing.duration")
+                .tag("operation", "encode").tag("phase", "hash").timer().count());
+    }
+
+    @Test
+    void testEncode_PoolSaturated_Rejected() throws Exception {
+        // Given: un hilo ocupado y la cola (capacidad 1) llena
+        service = new PasswordHashingService(new BlockingEncoder(true), meterRegistry, 1, 1, Duration.ofSeconds(5));
+        CompletableFuture.runAsync(() -> service.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> service.encode("queued"));
+        waitForQueued(1);
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> service.encode("third"));
+        assertEquals(1.0, meterRegistry.get("taskmanager.password-hashing.rejected")
+                .tag("reason", "saturated").counter().count());
+    }
+
+    @Test
+    void testMatches_Timeout_Rejected() {
+        // Given
+        service = new PasswordHashingService(new BlockingEncoder(true), meterRegistry, 1, 1, Duration.ofMillis(50));
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> service.matches("secret", "hash:secret"));
+        assertEquals(1.0, meterRegistry.get("taskmanager.password-hashing.rejected")
+                .tag("reason", "timeout").counter().count());
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("taskmanager.password-hashing.queued").gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // Codificador que puede quedarse bloqueado hasta que termine el test
+    private class BlockingEncoder implements PasswordEncoder {
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            if (block) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
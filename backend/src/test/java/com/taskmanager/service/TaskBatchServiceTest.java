@@ -0,0 +1,265 @@
+package com.taskmanager.service;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskDailyRollup;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.repository.TaskDailyRollupRepository;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests para TaskBatchService sobre una base H2 en memoria
+ * Las estadísticas de Hibernate confirman que el lote no escribe fila a fila.
+ */
+class TaskBatchServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private static ConfigurableApplicationContext context;
+
+    private static TaskService taskService;
+
+    private static TaskBatchService taskBatchService;
+
+    private static TaskRepository taskRepository;
+
+    private static TaskDailyRollupRepository rollupRepository;
+
+    private static ChangeLogRepository changeLogRepository;
+
+    private static Statistics statistics;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.devtools.restart.enabled=false",
+                "--app.warmup.enabled=false",
+                // Sin tareas periódicas que ensucien las estadísticas globales
+                "--app.write-behind.window=3600000");
+        taskService = context.getBean(TaskService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        rollupRepository = context.getBean(TaskDailyRollupRepository.class);
+        changeLogRepository = context.getBean(ChangeLogRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void stopContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithBatchSize() {
+        // Given
+        Long userId = newUser();
+        List<TaskBatchService.BatchOperation> small = priorityChanges(userId, 5);
+        List<TaskBatchService.BatchOperation> large = priorityChanges(userId, 40);
+
+        // When
+        long smallStatements = statementsFor(small);
+        long largeStatements = statementsFor(large);
+
+        // Then: solo la carga inicial pasa por Hibernate; los UPDATE de tareas
+        // y el registro de cambios van en batch JDBC, no fila a fila
+        assertEquals(smallStatements, largeStatements);
+        assertEquals(1, largeStatements);
+        assertEquals(0, statistics.getEntityUpdateCount());
+        large.forEach(operation -> assertEquals(Task.Priority.HIGH,
+                taskRepository.findById(operation.getId()).orElseThrow().getPriority()));
+    }
+
+    @Test
+    void testStatusChangesUpdateRollupsAndChangeLog() {
+        // Given
+        Long userId = newUser();
+        Task first = taskService.createTask(new Task("Primera", null, Task.Priority.LOW, null), userId);
+        Task second = taskService.createTask(new Task("Segunda", null, Task.Priority.LOW, null), userId);
+        TaskBatchService.BatchOperation complete = operation(TaskBatchService.OperationType.STATUS, first.getId(), null);
+        complete.setStatus(Task.Status.COMPLETED);
+        long sequence = changeLogRepository.findMaxId();
+
+        // When
+        TaskBatchService.BatchResult result = taskBatchService.execute(request(
+                TaskBatchService.Mode.ALL_OR_NOTHING, List.of(complete,
+                        operation(TaskBatchService.OperationType.DELETE, second.getId(), null))));
+
+        // Then
+        assertTrue(result.isCommitted());
+        assertNotNull(taskRepository.findById(first.getId()).orElseThrow().getCompletedAt());
+        assertFalse(taskRepository.existsById(second.getId()));
+        TaskDailyRollup rollup = rollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(
+                userId, LocalDate.now(), LocalDate.now()).get(0);
+        assertEquals(1, rollup.getCompletedCount());
+        List<ChangeLogEntry> changes = changeLogRepository
+                .findByUserIdAndEntityTypeAndIdGreaterThanOrderByIdAsc(userId, ChangeLogEntry.EntityType.TASK,
+                        sequence, PageRequest.of(0, 10));
+        assertEquals(List.of(ChangeLogEntry.Operation.UPDATED, ChangeLogEntry.Operation.DELETED),
+                changes.stream().map(ChangeLogEntry::getOperation).toList());
+    }
+
+    @Test
+    void testDeletedTaskCannotBeUsedLaterInTheBatch() {
+        // Given
+        Long userId = newUser();
+        Task task = taskService.createTask(new Task("Borrada", null, Task.Priority.LOW, null), userId);
+
+        // When
+        TaskBatchService.BatchResult result = taskBatchService.execute(request(
+                TaskBatchService.Mode.CONTINUE_ON_ERROR, List.of(
+                        operation(TaskBatchService.OperationType.DELETE, task.getId(), null),
+                        operation(TaskBatchService.OperationType.PRIORITY, task.getId(), Task.Priority.HIGH))));
+
+        // Then
+        assertTrue(result.isCommitted());
+        assertEquals(TaskBatchService.Outcome.SUCCEEDED, result.getResults().get(0).getOutcome());
+        assertEquals(TaskBatchService.Outcome.FAILED, result.getResults().get(1).getOutcome());
+        assertEquals("Tarea no encontrada con ID: " + task.getId(), result.getResults().get(1).getError());
+        assertFalse(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    void testUnknownUserAbortsWholeBatch() {
+        // Given
+        Long userId = newUser();
+        Task task = taskService.createTask(new Task("Intacta", null, Task.Priority.LOW, null), userId);
+        TaskBatchService.BatchOperation create = new TaskBatchService.BatchOperation();
+        create.setOp(TaskBatchService.OperationType.CREATE);
+        create.setTitle("Sin usuario");
+        create.setUserId(-1L);
+
+        // When
+        TaskBatchService.BatchResult result = taskBatchService.execute(request(
+                TaskBatchService.Mode.ALL_OR_NOTHING, List.of(
+                        operation(TaskBatchService.OperationType.PRIORITY, task.getId(), Task.Priority.HIGH),
+                        create,
+                        operation(TaskBatchService.OperationType.DELETE, task.getId(), null))));
+
+        // Then
+        assertFalse(result.isCommitted());
+        assertEquals(TaskBatchService.Outcome.ROLLED_BACK, result.getResults().get(0).getOutcome());
+        assertEquals("Usuario no encontrado con ID: -1", result.getResults().get(1).getError());
+        assertEquals(TaskBatchService.Outcome.SKIPPED, result.getResults().get(2).getOutcome());
+        assertEquals(Task.Priority.LOW, taskRepository.findById(task.getId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    void testConcurrentChangeIsNotOverwritten() throws Exception {
+        // Given: otra transacción tiene la tarea bloqueada y cambia título y estado
+        Long userId = newUser();
+        Task task = taskService.createTask(new Task("Original", null, Task.Priority.LOW, null), userId);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM tasks WHERE id = ? FOR UPDATE", task.getId());
+            jdbcTemplate.update("UPDATE tasks SET title = 'Concurrente', status = 'IN_PROGRESS' WHERE id = ?",
+                    task.getId());
+            locked.countDown();
+            sleep(300);
+        }));
+
+        // When: el lote espera al bloqueo y solo escribe la prioridad
+        TaskBatchService.BatchResult result;
+        try {
+            locked.await();
+            result = taskBatchService.execute(request(TaskBatchService.Mode.ALL_OR_NOTHING,
+                    List.of(operation(TaskBatchService.OperationType.PRIORITY, task.getId(), Task.Priority.HIGH))));
+            writer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertTrue(result.isCommitted());
+        Task stored = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Concurrente", stored.getTitle());
+        assertEquals(Task.Status.IN_PROGRESS, stored.getStatus());
+        assertEquals(Task.Priority.HIGH, stored.getPriority());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<TaskBatchService.BatchOperation> priorityChanges(Long userId, int count) {
+        List<TaskBatchService.BatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = taskService.createTask(new Task("Lote " + i, null, Task.Priority.LOW, null), userId);
+            operations.add(operation(TaskBatchService.OperationType.PRIORITY, task.getId(), Task.Priority.HIGH));
+        }
+        return operations;
+    }
+
+    private static long statementsFor(List<TaskBatchService.BatchOperation> operations) {
+        statistics.clear();
+        TaskBatchService.BatchResult result = taskBatchService.execute(request(
+                TaskBatchService.Mode.ALL_OR_NOTHING, operations));
+        assertTrue(result.isCommitted());
+        assertEquals(operations.size(), result.getSucceeded());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static TaskBatchService.BatchRequest request(TaskBatchService.Mode mode,
+                                                         List<TaskBatchService.BatchOperation> operations) {
+        TaskBatchService.BatchRequest request = new TaskBatchService.BatchRequest();
+        request.setMode(mode);
+        request.setOperations(operations);
+        return request;
+    }
+
+    private static TaskBatchService.BatchOperation operation(TaskBatchService.OperationType op, Long id,
+                                                             Task.Priority priority) {
+        TaskBatchService.BatchOperation operation = new TaskBatchService.BatchOperation();
+        operation.setOp(op);
+        operation.setId(id);
+        operation.setPriority(priority);
+        return operation;
+    }
+
+    private static Long newUser() {
+        int n = USERS.incrementAndGet();
+        User user = context.getBean(UserService.class)
+                .createUser(new User("batch" + n, "batch" + n + "@test.com", "password123", "Bat", "Ch"));
+        return user.getId();
+    }
+}
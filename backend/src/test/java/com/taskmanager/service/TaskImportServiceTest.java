@@ -0,0 +1,262 @@
+package com.taskmanager.service;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.entity.ImportJob;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ImportJobRepository;
+import com.taskmanager.repository.TaskRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Tests para TaskImportService (lectura CSV/NDJSON, reanudación y limpieza
+ * de archivos) sobre una base H2 en memoria
+ */
+class TaskImportServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private static ConfigurableApplicationContext context;
+
+    private static TaskImportService taskImportService;
+
+    private static ImportJobRepository importJobRepository;
+
+    private static TaskRepository taskRepository;
+
+    private static Path spoolDir;
+
+    @BeforeAll
+    static void startContext() throws IOException {
+        spoolDir = Files.createTempDirectory("import-test");
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:import;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--app.warmup.enabled=false",
+                "--app.import.spool-dir=" + spoolDir,
+                "--app.import.cleanup-interval=3600000");
+        taskImportService = context.getBean(TaskImportService.class);
+        importJobRepository = context.getBean(ImportJobRepository.class);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @AfterAll
+    static void stopContext() throws IOException {
+        context.close();
+        try (var files = Files.walk(spoolDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testCsvImport_QuotedFieldsAndRowErrors() throws Exception {
+        // Given: CRLF, comillas escapadas, campo multilínea y una línea vacía
+        Long userId = newUser();
+        String csv = "Title,Description,Priority,Due_Date,Status,User_Id\r\n" +
+                "Simple,,high,2030-01-15,,%1$d\r\n" +
+                "\"Con, coma\",\"Dice \"\"hola\"\"\ny sigue\",LOW,,completed,%1$d\r\n" +
+                "\r\n" +
+                "Prioridad mala,,ALTISIMA,,,%1$d\r\n" +
+                "Sin usuario,,,,,-1\r\n" +
+                "Última,sin salto final,,2030-01-15T10:30,,%1$d";
+
+        // When
+        ImportJob job = awaitFinished(taskImportService.startImport(body(String.format(csv, userId)),
+                ImportJob.Format.CSV, 2));
+
+        // Then
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(3, job.getImportedRows());
+        assertEquals(2, job.getRejectedRows());
+        assertEquals("Fila 3: Prioridad no válida: ALTISIMA\nFila 4: Usuario no encontrado con ID: -1",
+                job.getErrors());
+        Map<String, Task> tasks = tasksByTitle(userId);
+        assertEquals(Task.Priority.HIGH, tasks.get("Simple").getPriority());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 0, 0), tasks.get("Simple").getDueDate());
+        assertEquals("Dice \"hola\"\ny sigue", tasks.get("Con, coma").getDescription());
+        assertEquals(Task.Status.COMPLETED, tasks.get("Con, coma").getStatus());
+        assertNotNull(tasks.get("Con, coma").getCompletedAt());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 30), tasks.get("Última").getDueDate());
+        assertFalse(Files.exists(spoolFile(job)));
+    }
+
+    @Test
+    void testNdjsonImport_InvalidLinesAreRejected() throws Exception {
+        // Given
+        Long userId = newUser();
+        String ndjson = "{\"title\":\"Json\",\"description\":null,\"dueDate\":\"2030-02-01\",\"userId\":%1$d}\n" +
+                "\n" +
+                "{\"title\":\"Roto\"\n" +
+                "[1, 2]\n" +
+                "{\"title\":\"Urgente\",\"priority\":\"urgent\",\"user_id\":\"%1$d\"}\n";
+
+        // When
+        ImportJob job = awaitFinished(taskImportService.startImport(body(String.format(ndjson, userId)),
+                ImportJob.Format.NDJSON, null));
+
+        // Then
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getImportedRows());
+        assertEquals("Fila 2: JSON no válido\nFila 3: Se esperaba un objeto JSON", job.getErrors());
+        Map<String, Task> tasks = tasksByTitle(userId);
+        assertNull(tasks.get("Json").getDescription());
+        assertEquals(LocalDateTime.of(2030, 2, 1, 0, 0), tasks.get("Json").getDueDate());
+        assertEquals(Task.Priority.URGENT, tasks.get("Urgente").getPriority());
+    }
+
+    @Test
+    void testResume_ContinuesAfterLastCommittedChunk() throws Exception {
+        // Given: una importación que falló tras confirmar las dos primeras filas
+        Long userId = newUser();
+        ImportJob failed = failedJob("title,user_id\nUno,%1$d\nDos,%1$d\nTres,%1$d\nCuatro,%1$d\n", userId);
+        failed.setProcessedRows(2);
+        failed.setImportedRows(2);
+        importJobRepository.save(failed);
+
+        // When
+        ImportJob resumed = taskImportService.resume(failed.getId()).orElseThrow();
+        ImportJob job = awaitFinished(resumed);
+
+        // Then
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertNull(job.getLastError());
+        assertEquals(4, job.getProcessedRows());
+        assertEquals(4, job.getImportedRows());
+        assertEquals(List.of("Cuatro", "Tres"), tasksByTitle(userId).keySet().stream().sorted().toList());
+        assertFalse(Files.exists(spoolFile(job)));
+    }
+
+    @Test
+    void testResume_UnknownOrNotFailedJob() throws Exception {
+        // Given
+        Long userId = newUser();
+        ImportJob completed = awaitFinished(taskImportService.startImport(
+                body("title,user_id\nHecha," + userId + "\n"), ImportJob.Format.CSV, null));
+
+        // When / Then
+        assertTrue(taskImportService.resume("no-existe").isEmpty());
+        assertThrows(IllegalStateException.class, () -> taskImportService.resume(completed.getId()));
+        assertEquals(404, post("/api/tasks/import/no-existe/resume"));
+        assertEquals(409, post("/api/tasks/import/" + completed.getId() + "/resume"));
+    }
+
+    @Test
+    void testPurgeFailedSpools_FailureBecomesFinal() throws Exception {
+        // Given: una importación fallida que nadie reanudó en el plazo
+        Long userId = newUser();
+        ImportJob stale = failedJob("title,user_id\nVieja,%1$d\n", userId);
+        stale.setUpdatedAt(LocalDateTime.now().minusDays(2));
+        importJobRepository.save(stale);
+        ImportJob recent = failedJob("title,user_id\nReciente,%1$d\n", userId);
+
+        // When
+        taskImportService.purgeFailedSpools();
+
+        // Then
+        assertFalse(Files.exists(spoolFile(stale)));
+        assertNotNull(importJobRepository.findById(stale.getId()).orElseThrow().getFinishedAt());
+        assertThrows(IllegalStateException.class, () -> taskImportService.resume(stale.getId()));
+        assertTrue(Files.exists(spoolFile(recent)));
+        assertNull(importJobRepository.findById(recent.getId()).orElseThrow().getFinishedAt());
+    }
+
+    @Test
+    void testStartImport_InterruptedUploadLeavesNoSpool() throws Exception {
+        // Given: el cliente corta la conexión a mitad de la subida
+        InputStream body = new SequenceInputStream(body("title,user_id\nParcial,1\n"), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+        });
+        long jobs = importJobRepository.count();
+
+        // When
+        assertThrows(IOException.class, () -> taskImportService.startImport(body, ImportJob.Format.CSV, null));
+
+        // Then
+        try (var files = Files.list(spoolDir)) {
+            assertTrue(files.noneMatch(path -> importJobRepository.findAll().stream()
+                    .noneMatch(job -> job.getSpoolPath().equals(path.toString()))));
+        }
+        assertEquals(jobs, importJobRepository.count());
+    }
+
+    private static ImportJob failedJob(String csv, Long userId) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path spool = spoolDir.resolve(jobId + ".csv");
+        Files.writeString(spool, String.format(csv, userId));
+        ImportJob job = new ImportJob(jobId, ImportJob.Format.CSV, 2, spool.toString());
+        job.setStatus(ImportJob.Status.FAILED);
+        job.setLastError("Conexión perdida");
+        return importJobRepository.save(job);
+    }
+
+    private static ImportJob awaitFinished(ImportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJob current = importJobRepository.findById(job.getId()).orElseThrow();
+            if (current.getStatus() == ImportJob.Status.COMPLETED || current.getStatus() == ImportJob.Status.FAILED) {
+                return current;
+            }
+            Thread.sleep(20);
+        }
+        fail("La importación " + job.getId() + " no terminó a tiempo: " + importJobRepository.findById(job.getId()).orElseThrow());
+        return null;
+    }
+
+    private static int post(String path) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path spoolFile(ImportJob job) {
+        return Path.of(importJobRepository.findById(job.getId()).orElseThrow().getSpoolPath());
+    }
+
+    private static Map<String, Task> tasksByTitle(Long userId) {
+        return taskRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Task::getTitle, Function.identity()));
+    }
+
+    private static Long newUser() {
+        int n = USERS.incrementAndGet();
+        User user = context.getBean(UserService.class)
+                .createUser(new User("import" + n, "import" + n + "@test.com", "password123", "Imp", "Ort"));
+        return user.getId();
+    }
+}
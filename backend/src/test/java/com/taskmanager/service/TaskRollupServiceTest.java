@@ -0,0 +1,219 @@
+package com.taskmanager.service;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskDailyRollup;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskDailyRollupRepository;
+import com.taskmanager.service.TaskRollupBackfillService.BackfillJob;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests para TaskRollupService (contadores incrementales y relleno)
+ * sobre una base H2 en memoria
+ */
+class TaskRollupServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private static ConfigurableApplicationContext context;
+
+    private static TaskService taskService;
+
+    private static TaskRollupService taskRollupService;
+
+    private static TaskDailyRollupRepository rollupRepository;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:rollup;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--app.warmup.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        taskRollupService = context.getBean(TaskRollupService.class);
+        rollupRepository = context.getBean(TaskDailyRollupRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stopContext() {
+        context.close();
+    }
+
+    @Test
+    void testStatusTransitionsAreCountedIncrementally() {
+        // Given
+        Long userId = newUser();
+        Task task = taskService.createTask(new Task("Rollup", null, Task.Priority.HIGH, null), userId);
+
+        // When
+        taskService.changeTaskStatus(task.getId(), Task.Status.IN_PROGRESS);
+        taskService.changeTaskStatus(task.getId(), Task.Status.COMPLETED);
+        taskService.changeTaskStatus(task.getId(), Task.Status.PENDING);
+        taskService.changeTaskStatus(task.getId(), Task.Status.CANCELLED);
+        taskService.changeTaskStatus(task.getId(), Task.Status.CANCELLED);
+
+        // Then
+        TaskDailyRollup rollup = today(userId);
+        assertEquals(1, rollup.getCreatedCount());
+        assertEquals(1, rollup.getHighCount());
+        assertEquals(1, rollup.getStartedCount());
+        assertEquals(1, rollup.getCompletedCount());
+        assertEquals(1, rollup.getReopenedCount());
+        assertEquals(1, rollup.getCancelledCount());
+    }
+
+    @Test
+    void testConcurrentFirstWritesOfTheDayShareOneRollup() throws Exception {
+        // Given: ninguna fila de agregados para el usuario hoy
+        Long userId = newUser();
+        int writers = 6;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<Task>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < writers; i++) {
+                Task task = new Task("Concurrente " + i, null, Task.Priority.LOW, null);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return taskService.createTask(task, userId);
+                }));
+            }
+            start.countDown();
+            for (Future<Task> result : results) {
+                assertNotNull(result.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        TaskDailyRollup rollup = today(userId);
+        assertEquals(writers, rollup.getCreatedCount());
+        assertEquals(writers, rollup.getLowCount());
+    }
+
+    @Test
+    void testBackfillOnlyFillsDaysWithoutRollups() {
+        // Given: tareas de hace 3 días (sin agregados) y de hace 2 días (con agregados)
+        Long userId = newUser();
+        LocalDate untrackedDay = LocalDate.now().minusDays(3);
+        LocalDate trackedDay = LocalDate.now().minusDays(2);
+        Task old = taskService.createTask(new Task("Antigua", null, Task.Priority.URGENT, null), userId);
+        Task tracked = taskService.createTask(new Task("Con agregado", null, Task.Priority.LOW, null), userId);
+        moveTo(old.getId(), untrackedDay);
+        moveTo(tracked.getId(), trackedDay);
+        TaskDailyRollup existing = new TaskDailyRollup(trackedDay, userId);
+        existing.setReopenedCount(4);
+        rollupRepository.saveAndFlush(existing);
+
+        // When
+        taskRollupService.backfill(untrackedDay, trackedDay);
+
+        // Then
+        List<TaskDailyRollup> rollups = rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, untrackedDay, trackedDay);
+        assertEquals(2, rollups.size());
+        assertEquals(untrackedDay, rollups.get(0).getRollupDate());
+        assertEquals(1, rollups.get(0).getCreatedCount());
+        assertEquals(1, rollups.get(0).getUrgentCount());
+        assertEquals(0, rollups.get(1).getCreatedCount());
+        assertEquals(4, rollups.get(1).getReopenedCount());
+    }
+
+    @Test
+    void testBackfillFillsUsersWithoutRollupOnATrackedDay() {
+        // Given: el mismo día tiene agregado para otro usuario pero no para este
+        Long trackedUser = newUser();
+        Long userId = newUser();
+        LocalDate day = LocalDate.now().minusDays(5);
+        Task task = taskService.createTask(new Task("Sin agregado", null, Task.Priority.HIGH, null), userId);
+        moveTo(task.getId(), day);
+        rollupRepository.saveAndFlush(new TaskDailyRollup(day, trackedUser));
+
+        // When
+        taskRollupService.backfill(day, day);
+
+        // Then
+        List<TaskDailyRollup> rollups = rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, day, day);
+        assertEquals(1, rollups.size());
+        assertEquals(1, rollups.get(0).getCreatedCount());
+        assertEquals(1, rollups.get(0).getHighCount());
+    }
+
+    @Test
+    void testBackfillJobFillsEachDayInTheBackground() throws InterruptedException {
+        // Given
+        Long userId = newUser();
+        LocalDate first = LocalDate.now().minusDays(8);
+        LocalDate second = LocalDate.now().minusDays(7);
+        moveTo(taskService.createTask(new Task("Día 1", null, Task.Priority.LOW, null), userId).getId(), first);
+        moveTo(taskService.createTask(new Task("Día 2", null, Task.Priority.LOW, null), userId).getId(), second);
+        TaskRollupBackfillService backfillService = context.getBean(TaskRollupBackfillService.class);
+
+        // When
+        BackfillJob job = backfillService.startBackfill(first, second);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertEquals(BackfillJob.Status.COMPLETED, job.getStatus());
+        assertEquals(second, job.getLastDay());
+        assertSame(job, backfillService.findJob(job.getId()).orElseThrow());
+        List<TaskDailyRollup> rollups = rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, first, second);
+        assertEquals(2, rollups.size());
+        assertEquals(1, rollups.get(1).getCreatedCount());
+    }
+
+    @Test
+    void testBackfillRejectsToday() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRollupService.backfill(LocalDate.now().minusDays(1), LocalDate.now()));
+    }
+
+    private static Long newUser() {
+        int n = USERS.incrementAndGet();
+        User user = context.getBean(UserService.class)
+                .createUser(new User("rollup" + n, "rollup" + n + "@test.com", "password123", "Roll", "Up"));
+        return user.getId();
+    }
+
+    private static TaskDailyRollup today(Long userId) {
+        List<TaskDailyRollup> rollups = rollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, LocalDate.now(), LocalDate.now());
+        assertEquals(1, rollups.size());
+        return rollups.get(0);
+    }
+
+    private static void moveTo(Long taskId, LocalDate day) {
+        LocalDateTime at = day.atTime(10, 0);
+        jdbcTemplate.update("UPDATE tasks SET created_at = ?, updated_at = ? WHERE id = ?", at, at, taskId);
+    }
+}
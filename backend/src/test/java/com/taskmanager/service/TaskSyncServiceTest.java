@@ -0,0 +1,80 @@
+package com.taskmanager.service;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ChangeLogRepository;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests para TaskSyncService (caducidad de cursores) sobre una base H2 en memoria
+ */
+class TaskSyncServiceTest {
+
+    private static ConfigurableApplicationContext context;
+
+    private static TaskService taskService;
+
+    private static TaskSyncService taskSyncService;
+
+    private static ChangeLogService changeLogService;
+
+    private static ChangeLogRepository changeLogRepository;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:sync;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--app.warmup.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        taskSyncService = context.getBean(TaskSyncService.class);
+        changeLogService = context.getBean(ChangeLogService.class);
+        changeLogRepository = context.getBean(ChangeLogRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stopContext() {
+        context.close();
+    }
+
+    @Test
+    void testSequenceGapsDoNotExpireCursor() {
+        // Given: el cursor apunta justo antes de un hueco (transacción revertida)
+        // y la purga ya eliminó todo lo anterior al cursor
+        User user = context.getBean(UserService.class)
+                .createUser(new User("sync", "sync@test.com", "password123", "Sy", "Nc"));
+        taskService.createTask(new Task("Antigua", null, Task.Priority.LOW, null), user.getId());
+        long cursor = changeLogRepository.findMaxId();
+        Task rolledBack = taskService.createTask(new Task("Revertida", null, Task.Priority.LOW, null), user.getId());
+        Task recent = taskService.createTask(new Task("Reciente", null, Task.Priority.LOW, null), user.getId());
+        jdbcTemplate.update("DELETE FROM change_log WHERE id = ?", cursor + 1);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", rolledBack.getId());
+        jdbcTemplate.update("UPDATE change_log SET created_at = ? WHERE id <= ?",
+                LocalDateTime.now().minusDays(30), cursor);
+        changeLogService.purgeExpired();
+
+        // When
+        TaskSyncService.TaskChanges changes = taskSyncService.getChangesSince(user.getId(), cursor, 100);
+
+        // Then: el primer ID conservado es cursor + 2, pero no se perdió nada
+        assertEquals(cursor + 2, changeLogRepository.findAll().stream()
+                .mapToLong(entry -> entry.getId()).min().orElseThrow());
+        assertEquals(recent.getId(), changes.getChanged().get(0).getId());
+        assertEquals(1, changes.getChanged().size());
+        assertThrows(IllegalStateException.class,
+                () -> taskSyncService.getChangesSince(user.getId(), cursor - 1, 100));
+    }
+}
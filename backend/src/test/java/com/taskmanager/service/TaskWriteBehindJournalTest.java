@@ -0,0 +1,105 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests unitarios para TaskWriteBehindJournal y la combinación de cambios
+ */
+class TaskWriteBehindJournalTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecover_ReturnsChangesAppendedBeforeRestart() throws IOException {
+        // Given
+        TaskWriteBehindJournal journal = new TaskWriteBehindJournal(directory);
+        journal.append(change(1L, Task.Status.IN_PROGRESS, null, NOW));
+        journal.append(change(1L, null, Task.Priority.HIGH, NOW.plusSeconds(1)));
+        journal.close();
+
+        // When
+        TaskWriteBehindJournal reopened = new TaskWriteBehindJournal(directory);
+        List<TaskWriteBehindService.PendingChange> recovered = reopened.recover();
+        reopened.close();
+
+        // Then
+        assertEquals(2, recovered.size());
+        assertEquals(Task.Status.IN_PROGRESS, recovered.get(0).getStatus());
+        assertNull(recovered.get(0).getPriority());
+        assertEquals(Task.Priority.HIGH, recovered.get(1).getPriority());
+        assertEquals(NOW.plusSeconds(1), recovered.get(1).getChangedAt());
+        assertEquals(10L, recovered.get(1).getUserId());
+    }
+
+    @Test
+    void testRecover_SkipsIncompleteLastLine() throws IOException {
+        // Given
+        TaskWriteBehindJournal journal = new TaskWriteBehindJournal(directory);
+        journal.append(change(1L, Task.Status.COMPLETED, null, NOW));
+        journal.close();
+        Files.writeString(directory.resolve("write-behind-1.log"), "2\t10\tPEND",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        TaskWriteBehindJournal reopened = new TaskWriteBehindJournal(directory);
+        List<TaskWriteBehindService.PendingChange> recovered = reopened.recover();
+        reopened.close();
+
+        // Then
+        assertEquals(1, recovered.size());
+        assertEquals(1L, recovered.get(0).getTaskId());
+    }
+
+    @Test
+    void testDeleteUpTo_RemovesOnlyFlushedSegments() throws IOException {
+        // Given
+        TaskWriteBehindJournal journal = new TaskWriteBehindJournal(directory);
+        journal.append(change(1L, Task.Status.COMPLETED, null, NOW));
+        long flushed = journal.rotate();
+        journal.append(change(2L, Task.Status.PENDING, null, NOW));
+
+        // When
+        journal.deleteUpTo(flushed);
+        journal.close();
+
+        // Then
+        TaskWriteBehindJournal reopened = new TaskWriteBehindJournal(directory);
+        List<TaskWriteBehindService.PendingChange> recovered = reopened.recover();
+        reopened.close();
+        assertEquals(1, recovered.size());
+        assertEquals(2L, recovered.get(0).getTaskId());
+    }
+
+    @Test
+    void testThen_LaterFieldsWinAndEarlierFieldsAreKept() {
+        // Given
+        TaskWriteBehindService.PendingChange first = change(1L, Task.Status.IN_PROGRESS, Task.Priority.LOW, NOW);
+        TaskWriteBehindService.PendingChange second = change(1L, Task.Status.COMPLETED, null, NOW.plusSeconds(2));
+
+        // When
+        TaskWriteBehindService.PendingChange merged = first.then(second);
+
+        // Then
+        assertEquals(Task.Status.COMPLETED, merged.getStatus());
+        assertEquals(Task.Priority.LOW, merged.getPriority());
+        assertEquals(NOW.plusSeconds(2), merged.getChangedAt());
+    }
+
+    private static TaskWriteBehindService.PendingChange change(Long taskId, Task.Status status,
+                                                               Task.Priority priority, LocalDateTime changedAt) {
+        return new TaskWriteBehindService.PendingChange(taskId, 10L, status, priority, changedAt);
+    }
+}
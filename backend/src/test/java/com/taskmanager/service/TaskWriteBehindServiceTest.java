@@ -0,0 +1,309 @@
+package com.taskmanager.service;
+
+import com.taskmanager.cache.DataVersionTracker;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tests unitarios para TaskWriteBehindService
+ * La transacción del flush se simula: las sincronizaciones se registran en
+ * el hilo del test y se completan a mano (commit o rollback).
+ */
+class TaskWriteBehindServiceTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final TaskRollupService taskRollupService = mock(TaskRollupService.class);
+
+    private final ChangeLogService changeLogService = mock(ChangeLogService.class);
+
+    private final DataVersionTracker dataVersionTracker = mock(DataVersionTracker.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskWriteBehindService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void testQueue_CoalescesChangesPerTask() {
+        // Given
+        Task task = task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1));
+
+        // When
+        service.queue(task, Task.Status.IN_PROGRESS, null);
+        service.queue(task, null, Task.Priority.HIGH);
+        service.queue(task, Task.Status.COMPLETED, null);
+
+        // Then
+        Task read = service.overlay(task(1L, Task.Status.PENDING, Task.Priority.LOW,
+                LocalDateTime.now().minusMinutes(1)));
+        assertEquals(Task.Status.COMPLETED, read.getStatus());
+        assertEquals(Task.Priority.HIGH, read.getPriority());
+        assertEquals(1.0, meterRegistry.get("taskmanager.write-behind.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("taskmanager.write-behind.updates").tag("outcome", "queued")
+                .counter().count());
+        assertEquals(2.0, meterRegistry.get("taskmanager.write-behind.updates").tag("outcome", "coalesced")
+                .counter().count());
+        verify(dataVersionTracker, times(3)).bump(10L);
+    }
+
+    @Test
+    void testOverlay_AppliesPendingChangeToProjectedRow() {
+        // Given
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, updatedAt), Task.Status.COMPLETED, null);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("status", Task.Status.PENDING);
+        row.put("completedAt", null);
+        row.put("updatedAt", updatedAt);
+
+        // When
+        service.overlay(row);
+
+        // Then
+        assertEquals(Task.Status.COMPLETED, row.get("status"));
+        assertNotNull(row.get("completedAt"));
+        assertFalse(row.containsKey("priority"));
+        assertTrue(((LocalDateTime) row.get("updatedAt")).isAfter(updatedAt));
+    }
+
+    @Test
+    void testQueue_FailsWhenDisabled() throws IOException {
+        // Given
+        TaskWriteBehindService disabled = new TaskWriteBehindService(entityManager, jdbcTemplate,
+                taskRollupService, changeLogService, dataVersionTracker, new SimpleMeterRegistry(),
+                mock(PlatformTransactionManager.class), false, journalDir, Duration.ofSeconds(30));
+        Task task = task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> disabled.queue(task, Task.Status.COMPLETED, null));
+        assertFalse(disabled.absorb(task));
+    }
+
+    @Test
+    void testAbsorb_RequeuesChangeOnRollback() {
+        // Given
+        Task queued = task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1));
+        service.queue(queued, Task.Status.IN_PROGRESS, null);
+        TransactionSynchronizationManager.initSynchronization();
+        Task loaded = task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1));
+
+        // When
+        boolean absorbed = service.absorb(loaded);
+
+        // Then
+        assertTrue(absorbed);
+        assertEquals(Task.Status.IN_PROGRESS, loaded.getStatus());
+        assertEquals(0.0, meterRegistry.get("taskmanager.write-behind.pending").gauge().value());
+
+        // When (la escritura síncrona se revierte)
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        Task read = service.overlay(task(1L, Task.Status.PENDING, Task.Priority.LOW,
+                LocalDateTime.now().minusMinutes(1)));
+        assertEquals(Task.Status.IN_PROGRESS, read.getStatus());
+        assertEquals(1.0, meterRegistry.get("taskmanager.write-behind.pending").gauge().value());
+    }
+
+    @Test
+    void testAbsorb_CommitDropsChange() {
+        // Given
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.IN_PROGRESS, null);
+        TransactionSynchronizationManager.initSynchronization();
+        service.absorb(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)));
+
+        // When
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertEquals(0, service.flush());
+        assertEquals(0.0, meterRegistry.get("taskmanager.write-behind.pending").gauge().value());
+    }
+
+    @Test
+    void testFlush_WritesBatchAndDeletesJournal() throws IOException {
+        // Given
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.COMPLETED, null);
+        rows(row(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        int written = service.flush();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertEquals(1, written);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(taskRollupService).recordStatusChanges(10L, List.of(Task.Status.PENDING), Task.Status.COMPLETED);
+        verify(dataVersionTracker).bumpAfterCommit(10L);
+        assertEquals(List.of(), segmentsWithChanges());
+    }
+
+    @Test
+    void testFlush_DropsChangeOlderThanRow() {
+        // Given: una escritura síncrona posterior ya actualizó la fila
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.COMPLETED, null);
+        rows(row(1L, Task.Status.IN_PROGRESS, Task.Priority.LOW, LocalDateTime.now().plusMinutes(1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        int written = service.flush();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertEquals(0, written);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(taskRollupService, changeLogService);
+        assertEquals(1.0, meterRegistry.get("taskmanager.write-behind.flushed").tag("outcome", "stale")
+                .counter().count());
+    }
+
+    @Test
+    void testFlush_RequeuesChangesOnRollback() {
+        // Given
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.COMPLETED, null);
+        rows(row(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        service.flush();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("taskmanager.write-behind.pending").gauge().value());
+        Task read = service.overlay(task(1L, Task.Status.PENDING, Task.Priority.LOW,
+                LocalDateTime.now().minusMinutes(1)));
+        assertEquals(Task.Status.COMPLETED, read.getStatus());
+    }
+
+    @Test
+    void testConstructor_ReplaysJournalAfterRestart() throws IOException {
+        // Given: cambios confirmados y parada sin flush
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.IN_PROGRESS, null);
+        service.queue(task(1L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                null, Task.Priority.HIGH);
+        service.queue(task(2L, Task.Status.PENDING, Task.Priority.LOW, LocalDateTime.now().minusMinutes(1)),
+                Task.Status.CANCELLED, null);
+        rows();
+        TransactionSynchronizationManager.initSynchronization();
+        service.flush();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // When
+        TaskWriteBehindService restarted = newService();
+
+        // Then
+        Task first = restarted.overlay(task(1L, Task.Status.PENDING, Task.Priority.LOW,
+                LocalDateTime.now().minusMinutes(1)));
+        Task second = restarted.overlay(task(2L, Task.Status.PENDING, Task.Priority.LOW,
+                LocalDateTime.now().minusMinutes(1)));
+        assertEquals(Task.Status.IN_PROGRESS, first.getStatus());
+        assertEquals(Task.Priority.HIGH, first.getPriority());
+        assertEquals(Task.Status.CANCELLED, second.getStatus());
+        restarted.shutdown();
+    }
+
+    private TaskWriteBehindService newService() throws IOException {
+        return new TaskWriteBehindService(entityManager, jdbcTemplate, taskRollupService, changeLogService,
+                dataVersionTracker, meterRegistry, mock(PlatformTransactionManager.class), true, journalDir,
+                Duration.ofSeconds(30));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rows(Tuple... rows) {
+        TypedQuery<Tuple> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setLockMode(LockModeType.PESSIMISTIC_WRITE)).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(rows));
+    }
+
+    private static Tuple row(Long id, Task.Status status, Task.Priority priority, LocalDateTime updatedAt) {
+        Tuple row = mock(Tuple.class);
+        when(row.get(0, Long.class)).thenReturn(id);
+        when(row.get(1, Long.class)).thenReturn(10L);
+        when(row.get(2, Task.Status.class)).thenReturn(status);
+        when(row.get(3, Task.Priority.class)).thenReturn(priority);
+        when(row.get(5, LocalDateTime.class)).thenReturn(updatedAt);
+        return row;
+    }
+
+    private static Task task(Long id, Task.Status status, Task.Priority priority, LocalDateTime updatedAt) {
+        User user = new User();
+        user.setId(10L);
+        Task task = new Task();
+        task.setId(id);
+        task.setUser(user);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    private List<Path> segmentsWithChanges() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(file -> {
+                try {
+                    return Files.size(file) > 0;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).toList();
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanager.entity.User;
 import com.taskmanager.repository.UserRepository;
+import jakarta.validation.Validation;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Tests unitarios para UserService
@@ -21,11 +25,23 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private JsonMergePatcher jsonMergePatcher = new JsonMergePatcher(new ObjectMapper().findAndRegisterModules(),
+            Validation.buildDefaultValidatorFactory().getValidator());
 
     @InjectMocks
     private UserService userService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private User testUser;
 
     @BeforeEach
@@ -49,7 +65,7 @@ class UserServiceTest {
         // Given
         when(userRepository.existsByUsername("testuser")).thenReturn(false);
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordHashingService.encode("password123")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // When
@@ -59,7 +75,54 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
         verify(userRepository).save(any(User.class));
-        verify(passwordEncoder).encode("password123");
+        verify(passwordHashingService).encode("password123");
+    }
+
+    @Test
+    void testCreateUser_HashesBeforeOpeningTransaction() {
+        // Given
+        when(passwordHashingService.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // When
+        userService.createUser(testUser);
+
+        // Then: la espera del hash no retiene una conexión
+        InOrder inOrder = inOrder(passwordHashingService, transactionManager, userRepository);
+        inOrder.verify(passwordHashingService).encode("password123");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(testUser);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testChangePassword_HashesBeforeOpeningTransaction() {
+        // Given
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordHashingService.encode("newPassword1")).thenReturn("encodedNew");
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        // When
+        User result = userService.changePassword(1L, "newPassword1");
+
+        // Then
+        assertEquals("encodedNew", result.getPassword());
+        InOrder inOrder = inOrder(passwordHashingService, transactionManager, userRepository);
+        inOrder.verify(passwordHashingService).encode("newPassword1");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).findById(1L);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testChangePassword_UnknownUserSkipsHashing() {
+        // Given
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> userService.changePassword(99L, "newPassword1"));
+        verifyNoInteractions(passwordHashingService, transactionManager);
     }
 
     @Test
@@ -107,7 +170,7 @@ class UserServiceTest {
         // Given
         when(userRepository.findByUsernameOrEmail("testuser", "testuser"))
             .thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("password123", testUser.getPassword()))
+        when(passwordHashingService.matches("password123", testUser.getPassword()))
             .thenReturn(true);
 
         // When
@@ -122,7 +185,7 @@ class UserServiceTest {
         // Given
         when(userRepository.findByUsernameOrEmail("testuser", "testuser"))
             .thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", testUser.getPassword()))
+        when(passwordHashingService.matches("wrongpassword", testUser.getPassword()))
             .thenReturn(false);
 
         // When
@@ -144,4 +207,56 @@ class UserServiceTest {
         // Then
         assertFalse(result);
     }
+
+    @Test
+    void testPatchUser_OnlyGivenFields() throws Exception {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userService.patchUser(1L, objectMapper.readTree("{\"firstName\": \"Nuevo\"}"));
+
+        // Then
+        assertEquals("Nuevo", result.getFirstName());
+        assertEquals("User", result.getLastName());
+        assertEquals("test@example.com", result.getEmail());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void testPatchUser_NoChanges() throws Exception {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When
+        User result = userService.patchUser(1L, objectMapper.readTree("{\"firstName\": \"Test\"}"));
+
+        // Then
+        assertSame(testUser, result);
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(changeLogService);
+    }
+
+    @Test
+    void testPatchUser_NullRequiredField() throws Exception {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUser(1L, objectMapper.readTree("{\"lastName\": null}")));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testPatchUser_PasswordNotEditable() throws Exception {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUser(1L, objectMapper.readTree("{\"password\": \"otra123\"}")));
+        assertEquals("password123", testUser.getPassword());
+    }
 }
@@ -0,0 +1,194 @@
+package com.taskmanager.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.entity.ChangeLogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para TaskEventBroadcaster con una salida no bloqueante simulada
+ */
+class TaskEventBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(new ObjectMapper(), meterRegistry,
+            4, 100, Duration.ofMinutes(30), Duration.ZERO, 1);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testStalledClientDoesNotDelayOthers() throws Exception {
+        // Given: un cliente cuyo socket no acepta datos y otro normal
+        FakeOutput stalled = new FakeOutput(false);
+        FakeOutput healthy = new FakeOutput(true);
+        subscribe(stalled);
+        subscribe(healthy);
+
+        // When
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            broadcaster.onTaskChange(event(sequence));
+        }
+
+        // Then
+        waitUntil(() -> healthy.text().contains("id:3"));
+        assertTrue(healthy.text().contains("event:task"));
+        assertEquals("", stalled.text());
+        assertEquals(3.0, meterRegistry.get("taskmanager.stream.events").tag("outcome", "delivered")
+                .counter().count());
+    }
+
+    @Test
+    void testStalledClientIsEvictedAfterWriteTimeout() throws Exception {
+        // Given
+        FakeOutput stalled = new FakeOutput(false);
+        AsyncContext asyncContext = subscribe(stalled);
+        broadcaster.onTaskChange(event(1));
+
+        // When: el latido detecta el socket lleno y, vencido el plazo, lo desconecta
+        waitUntil(() -> {
+            broadcaster.heartbeat();
+            return broadcaster.getSubscriberCount() == 0;
+        });
+
+        // Then
+        verify(asyncContext).complete();
+        assertEquals("", stalled.text());
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("taskmanager.stream.events").tag("outcome", "evicted")
+                .counter().count());
+    }
+
+    @Test
+    void testOverflowSendsResyncWhenClientCatchesUp() throws Exception {
+        // Given
+        FakeOutput output = new FakeOutput(true);
+        subscribe(output);
+        broadcaster.onTaskChange(event(1));
+        waitUntil(() -> output.text().contains("id:1"));
+        output.ready = false;
+
+        // When: más eventos que el buffer mientras el socket está lleno
+        for (long sequence = 2; sequence <= 10; sequence++) {
+            broadcaster.onTaskChange(event(sequence));
+        }
+        output.ready = true;
+        output.listener.onWritePossible();
+
+        // Then
+        waitUntil(() -> output.text().contains("event:resync"));
+        assertTrue(output.text().contains("data:{\"since\":1}"));
+        assertFalse(output.text().contains("id:2\n"));
+    }
+
+    @Test
+    void testWritePossibleDuringDrainIsNotLost() throws Exception {
+        // Given: el socket se vacía justo después de que isReady() devuelva
+        // false, y el contenedor avisa mientras el drain sigue en curso
+        FakeOutput output = new FakeOutput(true);
+        subscribe(output);
+        broadcaster.onTaskChange(event(1));
+        waitUntil(() -> output.text().contains("id:1"));
+        output.ready = false;
+        output.drainedAfterCheck = true;
+
+        // When
+        broadcaster.onTaskChange(event(2));
+
+        // Then
+        waitUntil(() -> output.text().contains("id:2"));
+    }
+
+    private AsyncContext subscribe(FakeOutput output) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+        when(response.getOutputStream()).thenReturn(output);
+        broadcaster.subscribe(request, response, null);
+        return asyncContext;
+    }
+
+    private static TaskChangeEvent event(long sequence) {
+        return new TaskChangeEvent(sequence, sequence, 1L, ChangeLogEntry.Operation.UPDATED);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "condición no cumplida a tiempo");
+    }
+
+    /**
+     * Salida que, como la de Tomcat en modo no bloqueante, no admite
+     * escrituras mientras isReady() devuelve false
+     */
+    private static final class FakeOutput extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private volatile boolean ready;
+        private volatile WriteListener listener;
+        // La próxima vez que isReady() devuelva false el socket se vacía y se
+        // llama a onWritePossible antes de que el drain termine
+        private volatile boolean drainedAfterCheck;
+
+        private FakeOutput(boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!ready && drainedAfterCheck) {
+                drainedAfterCheck = false;
+                ready = true;
+                try {
+                    listener.onWritePossible();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return false;
+            }
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (!ready) {
+                throw new IllegalStateException("Escritura con el socket lleno");
+            }
+            bytes.write(b);
+        }
+
+        private synchronized String text() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
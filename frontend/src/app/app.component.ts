@@ -1,11 +1,13 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { RouterOutlet } from '@angular/router';
 import { UserService } from './services/user.service';
 import { TaskService } from './services/task.service';
+import { DashboardService } from './services/dashboard.service';
 import { User, CreateUserRequest, UpdateUserRequest } from './models/user.model';
-import { Task, CreateTaskRequest, UpdateTaskRequest } from './models/task.model';
+import { Task, CreateTaskRequest, UpdateTaskRequest, TaskChangeEvent, TaskSummary } from './models/task.model';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-root',
@@ -14,12 +16,13 @@ import { Task, CreateTaskRequest, UpdateTaskRequest } from './models/task.model'
   templateUrl: './app.component.html',
   styleUrl: './app.component.scss'
 })
-export class AppComponent implements OnInit {
+export class AppComponent implements OnInit, OnDestroy {
   title = 'Task Manager';
 
   // Estado de la aplicación
   users: User[] = [];
   tasks: Task[] = [];
+  userSummaries: { [userId: number]: TaskSummary } = {};
   backendConnected = false;
   message = '';
   messageType: 'success' | 'error' | 'info' = 'info';
@@ -49,15 +52,74 @@ export class AppComponent implements OnInit {
     dueDate: undefined
   };
 
+  private taskStream?: Subscription;
+
   constructor(
     private userService: UserService,
-    private taskService: TaskService
+    private taskService: TaskService,
+    private dashboardService: DashboardService
   ) {}
 
   ngOnInit() {
-    this.checkConnection();
-    this.loadUsersQuietly();
-    this.loadTasksQuietly();
+    this.loadDashboard();
+    this.subscribeToTaskChanges();
+  }
+
+  ngOnDestroy() {
+    this.taskStream?.unsubscribe();
+  }
+
+  // Recibir cambios de otras pestañas/clientes sin recargar todas las tareas
+  subscribeToTaskChanges() {
+    this.taskStream = this.taskService.streamTaskChanges().subscribe(message => {
+      if (message.type === 'resync') {
+        this.loadTasksQuietly();
+      } else {
+        this.applyTaskChange(message.event);
+      }
+    });
+  }
+
+  // Aplicar un cambio de tarea recibido por el flujo de eventos
+  applyTaskChange(change: TaskChangeEvent) {
+    if (change.operation === 'DELETED') {
+      this.tasks = this.tasks.filter(t => t.id !== change.taskId);
+      return;
+    }
+    this.taskService.getTaskById(change.taskId).subscribe({
+      next: (task) => {
+        const index = this.tasks.findIndex(t => t.id === task.id);
+        if (index !== -1) {
+          this.tasks[index] = task;
+        } else {
+          this.tasks.push(task);
+        }
+      },
+      error: (error) => {
+        console.error('Error al actualizar tarea desde el flujo de eventos:', error);
+      }
+    });
+  }
+
+  // Carga inicial en una sola petición (también verifica la conexión)
+  loadDashboard() {
+    this.dashboardService.getDashboard().subscribe({
+      next: (dashboard) => {
+        this.backendConnected = true;
+        this.users = dashboard.users;
+        this.tasks = dashboard.tasks;
+        this.userSummaries = dashboard.userSummaries;
+        // El panel trae solo la primera página; el resto se carga aparte
+        if (dashboard.hasMoreTasks) {
+          this.loadTasksQuietly();
+        }
+        this.showMessage('Conectado al backend correctamente', 'success');
+      },
+      error: (error) => {
+        this.backendConnected = false;
+        this.showMessage('Error de conexión: ' + error.message, 'error');
+      }
+    });
   }
 
   // Verificar conexión con el backend
@@ -169,7 +231,10 @@ export class AppComponent implements OnInit {
 
     this.taskService.createTask(this.newTask).subscribe({
       next: (task) => {
-        this.tasks.push(task);
+        // El flujo de eventos puede haberla agregado antes de la respuesta
+        if (!this.tasks.some(t => t.id === task.id)) {
+          this.tasks.push(task);
+        }
         this.resetTaskForm();
         this.showTaskForm = false;
         this.showMessage('Tarea creada exitosamente', 'success');
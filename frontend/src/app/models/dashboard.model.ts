@@ -0,0 +1,13 @@
+import { User } from './user.model';
+import { Task, TaskSummary } from './task.model';
+
+export interface Dashboard {
+  users: User[];
+  tasks: Task[];
+  totalTasks: number;
+  hasMoreTasks: boolean;
+  userSummaries: { [userId: number]: TaskSummary };
+  tasksByStatus: { [status: string]: number };
+  tasksByPriority: { [priority: string]: number };
+  usersByRole: { [role: string]: number };
+}
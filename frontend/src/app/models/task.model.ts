@@ -41,3 +41,14 @@ export interface TaskSummary {
   inProgressTasks: number;
   overdueTasks: number;
 }
+
+export interface TaskChangeEvent {
+  sequence: number;
+  taskId: number;
+  userId: number;
+  operation: 'CREATED' | 'UPDATED' | 'DELETED';
+}
+
+export type TaskStreamMessage =
+  | { type: 'task'; event: TaskChangeEvent }
+  | { type: 'resync'; since: number };
@@ -0,0 +1,46 @@
+import { Injectable } from '@angular/core';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
+import { Observable, throwError } from 'rxjs';
+import { catchError } from 'rxjs/operators';
+import { environment } from '../../environments/environment';
+import { Dashboard } from '../models/dashboard.model';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class DashboardService {
+  private apiUrl = `${environment.apiUrl}/dashboard`;
+
+  constructor(private http: HttpClient) {}
+
+  // Obtener usuarios, tareas, resúmenes y estadísticas en una sola petición
+  getDashboard(taskLimit?: number): Observable<Dashboard> {
+    let params = new HttpParams();
+    if (taskLimit !== undefined) {
+      params = params.set('taskLimit', taskLimit);
+    }
+    return this.http.get<Dashboard>(this.apiUrl, { params }).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  // Manejo de errores
+  private handleError(error: HttpErrorResponse) {
+    let errorMessage = 'Error desconocido';
+    
+    if (error.error instanceof ErrorEvent) {
+      // Error del lado del cliente
+      errorMessage = `Error: ${error.error.message}`;
+    } else {
+      // Error del lado del servidor
+      if (error.error && error.error.message) {
+        errorMessage = error.error.message;
+      } else {
+        errorMessage = `Código de error: ${error.status}, mensaje: ${error.message}`;
+      }
+    }
+    
+    console.error('Error en DashboardService:', errorMessage);
+    return throwError(() => new Error(errorMessage));
+  }
+}
@@ -7,7 +7,8 @@ import {
   Task, 
   CreateTaskRequest, 
   UpdateTaskRequest, 
-  TaskSummary 
+  TaskSummary,
+  TaskStreamMessage
 } from '../models/task.model';
 
 @Injectable({
@@ -151,6 +152,34 @@ export class TaskService {
     );
   }
 
+  // Suscribirse a los cambios de tareas (Server-Sent Events)
+  streamTaskChanges(userId?: number): Observable<TaskStreamMessage> {
+    return new Observable<TaskStreamMessage>(subscriber => {
+      if (typeof EventSource === 'undefined') {
+        // Renderizado en servidor: no hay flujo de eventos
+        subscriber.complete();
+        return;
+      }
+      const url = userId ? `${this.apiUrl}/stream?userId=${userId}` : `${this.apiUrl}/stream`;
+      const source = new EventSource(url);
+      source.addEventListener('task', (message: MessageEvent) => {
+        subscriber.next({ type: 'task', event: JSON.parse(message.data) });
+      });
+      source.addEventListener('resync', (message: MessageEvent) => {
+        subscriber.next({ type: 'resync', since: JSON.parse(message.data).since });
+      });
+      // EventSource se reconecta solo; tras reconectar se pide una resincronización
+      let opened = false;
+      source.addEventListener('open', () => {
+        if (opened) {
+          subscriber.next({ type: 'resync', since: 0 });
+        }
+        opened = true;
+      });
+      return () => source.close();
+    });
+  }
+
   // Manejo de errores
   private handleError(error: HttpErrorResponse) {
     let errorMessage = 'Error desconocido';